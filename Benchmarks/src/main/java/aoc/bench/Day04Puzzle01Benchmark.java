@@ -0,0 +1,14 @@
+package aoc.bench;
+
+public class Day04Puzzle01Benchmark extends PuzzleBenchmark {
+
+    @Override
+    protected int day() {
+        return 4;
+    }
+
+    @Override
+    protected int part() {
+        return 1;
+    }
+}
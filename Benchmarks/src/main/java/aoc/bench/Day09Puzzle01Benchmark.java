@@ -0,0 +1,14 @@
+package aoc.bench;
+
+public class Day09Puzzle01Benchmark extends PuzzleBenchmark {
+
+    @Override
+    protected int day() {
+        return 9;
+    }
+
+    @Override
+    protected int part() {
+        return 1;
+    }
+}
@@ -0,0 +1,14 @@
+package aoc.bench;
+
+public class Day10Puzzle02Benchmark extends PuzzleBenchmark {
+
+    @Override
+    protected int day() {
+        return 10;
+    }
+
+    @Override
+    protected int part() {
+        return 2;
+    }
+}
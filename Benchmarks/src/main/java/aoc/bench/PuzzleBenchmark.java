@@ -0,0 +1,88 @@
+package aoc.bench;
+
+import aoc.Puzzles;
+import aoc.Solver;
+import aoc.gen.Generators;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parse-only, solve-only and end-to-end throughput of one puzzle.
+ *
+ * Subclasses only name the day and part. The input is read into memory once per
+ * trial, so none of the benchmarks include file I/O.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public abstract class PuzzleBenchmark {
+
+    /**
+     * "committed" runs the puzzle's own input.txt. "x10", "x1000", ... run an input
+     * generated at that scale with the default seed (see {@link Generators}). Any
+     * other value is a directory laid out like the repository, holding a scaled
+     * "Day NN/Puzzle PP/input.txt".
+     */
+    @Param("committed")
+    public String input;
+
+    private Solver<Object> solver;
+    private ByteBuffer bytes;
+    private Object model;
+
+    protected abstract int day();
+
+    protected abstract int part();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Puzzles.Puzzle puzzle = Puzzles.find(day(), part());
+        solver = Puzzles.load(puzzle);
+
+        byte[] data;
+        if ("committed".equals(input)) {
+            data = Files.readAllBytes(puzzle.input());
+        } else if (input.startsWith("x")) {
+            data = Generators.generate(day(), Double.parseDouble(input.substring(1)), Generators.DEFAULT_SEED);
+        } else {
+            data = Files.readAllBytes(Path.of(input).resolve(puzzle.dir.getParent().getFileName())
+                    .resolve(puzzle.dir.getFileName()).resolve("input.txt"));
+        }
+        bytes = ByteBuffer.wrap(data).asReadOnlyBuffer();
+        model = solver.parse(bytes);
+    }
+
+    @Benchmark
+    public Object parse() {
+        return solver.parse(bytes);
+    }
+
+    @Benchmark
+    public Number solve() {
+        return solver.solve(model);
+    }
+
+    @Benchmark
+    public Number endToEnd() {
+        return solver.solve(solver.parse(bytes));
+    }
+}
@@ -0,0 +1,155 @@
+package aoc;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Measures the bytes each solution allocates per parse and per solve, and checks
+ * them against the budgets kept in Common/allocation-budgets.txt.
+ *
+ * Usage: java -cp out/common aoc.Allocations [--update] [--budget SECONDS] [day | day/part ...]
+ *
+ * Each puzzle runs on its committed input: once to warm up, then repeatedly for up to
+ * --budget seconds (at least once more), keeping the smallest count seen so the
+ * one-off costs of class loading and JIT compilation do not count. The counts come from
+ * com.sun.management.ThreadMXBean#getThreadAllocatedBytes on the measuring thread.
+ *
+ * The exit status is 1 if any puzzle goes over budget. --update rewrites the budgets
+ * for the measured puzzles as the measured bytes plus 10%, rounded up to a KiB.
+ */
+public final class Allocations {
+
+    private static final double HEADROOM = 1.10;
+
+    private boolean update;
+    private long budgetNanos = 10_000_000_000L;
+    private final List<String> selected = new ArrayList<>();
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private Allocations() { }
+
+    public static void main(String[] args) throws IOException {
+        Allocations a = new Allocations();
+        a.parseArgs(args);
+        System.exit(a.run() ? 0 : 1);
+    }
+
+    private void parseArgs(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--update": update = true; break;
+                case "--budget": budgetNanos = (long) (Double.parseDouble(args[++i]) * 1e9); break;
+                default:
+                    if (args[i].startsWith("--")) throw new IllegalArgumentException("Unknown option " + args[i]);
+                    selected.add(args[i]);
+            }
+        }
+    }
+
+    private boolean run() throws IOException {
+        Path file = Puzzles.root().resolve("Common/allocation-budgets.txt");
+        Map<String, long[]> budgets = read(file);
+        boolean ok = true;
+
+        System.out.printf("%-8s %12s %12s %12s %12s  %s%n", "Puzzle", "parse", "budget", "solve", "budget", "");
+        for (Puzzles.Puzzle p : Puzzles.all()) {
+            if (!Puzzles.isSelected(selected, p) || !Files.isRegularFile(p.input())) continue;
+            String key = String.format("%02d/%d", p.day, p.part);
+            long[] measured = measure(Puzzles.load(p), ByteBuffer.wrap(Files.readAllBytes(p.input())).asReadOnlyBuffer());
+            long[] budget = budgets.get(key);
+
+            String status;
+            if (budget == null) {
+                status = "no budget";
+            } else if (measured[0] > budget[0] || measured[1] > budget[1]) {
+                status = "OVER";
+                ok = false;
+            } else {
+                status = "ok";
+            }
+            System.out.printf("%-8s %12s %12s %12s %12s  %s%n", key,
+                    bytes(measured[0]), budget == null ? "-" : bytes(budget[0]),
+                    bytes(measured[1]), budget == null ? "-" : bytes(budget[1]), status);
+
+            if (update) budgets.put(key, new long[]{withHeadroom(measured[0]), withHeadroom(measured[1])});
+        }
+
+        if (update) {
+            write(file, budgets);
+            System.out.println("\nUpdated " + file);
+            return true;
+        }
+        return ok;
+    }
+
+    /** Fewest bytes allocated by one parse and by one solve. */
+    private long[] measure(Solver<Object> solver, ByteBuffer bytes) {
+        long id = Thread.currentThread().getId();
+        solver.solve(solver.parse(bytes));
+
+        long parse = Long.MAX_VALUE;
+        long solve = Long.MAX_VALUE;
+        long deadline = System.nanoTime() + budgetNanos;
+        do {
+            long a0 = threads.getThreadAllocatedBytes(id);
+            Object model = solver.parse(bytes);
+            long a1 = threads.getThreadAllocatedBytes(id);
+            solver.solve(model);
+            long a2 = threads.getThreadAllocatedBytes(id);
+            parse = Math.min(parse, a1 - a0);
+            solve = Math.min(solve, a2 - a1);
+        } while (System.nanoTime() < deadline && parse + solve > 0);
+        return new long[]{parse, solve};
+    }
+
+    private static long withHeadroom(long measured) {
+        long b = (long) Math.ceil(measured * HEADROOM);
+        return (b + 1023) / 1024 * 1024;
+    }
+
+    static String bytes(long n) {
+        if (n < 1024) return n + " B";
+        if (n < 1024 * 1024) return String.format(Locale.ROOT, "%.1f KiB", n / 1024.0);
+        return String.format(Locale.ROOT, "%.1f MiB", n / (1024.0 * 1024));
+    }
+
+    // ---------- Budget file ----------
+
+    /** "DD/P parse solve" per line, in bytes; '#' starts a comment. */
+    private static Map<String, long[]> read(Path file) throws IOException {
+        Map<String, long[]> budgets = new LinkedHashMap<>();
+        if (!Files.exists(file)) return budgets;
+        for (String line : Files.readAllLines(file)) {
+            int hash = line.indexOf('#');
+            if (hash >= 0) line = line.substring(0, hash);
+            line = line.trim();
+            if (line.isEmpty()) continue;
+            String[] f = line.split("\\s+");
+            if (f.length != 3) throw new IllegalArgumentException("Bad budget line in " + file + ": " + line);
+            budgets.put(f[0], new long[]{Long.parseLong(f[1]), Long.parseLong(f[2])});
+        }
+        return budgets;
+    }
+
+    private static void write(Path file, Map<String, long[]> budgets) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add("# Bytes one parse() and one solve() may allocate on the committed input.");
+        lines.add("# Checked by aoc.Allocations; regenerate with --update after an intended change.");
+        lines.add("#");
+        lines.add(String.format("# %-6s %12s %14s", "puzzle", "parse", "solve"));
+        budgets.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(e -> lines.add(String.format("%-8s %12d %14d", e.getKey(), e.getValue()[0], e.getValue()[1])));
+        Files.write(file, lines);
+    }
+}
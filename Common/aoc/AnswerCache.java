@@ -0,0 +1,345 @@
+package aoc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Persistent answers, keyed by (day, part, SHA-256 of the input, SHA-256 of the solution source
+ * and the shared sources under Common/), so an input that was solved before is answered without
+ * running the solver again. Editing a solution or the shared code changes the hash, which
+ * retires every answer the old build produced.
+ *
+ * The cache is one append-only log, "answers.log" in the cache directory:
+ *
+ *   header:  "AOCANS1\n", generation (long)
+ *   record:  length (int), payload, CRC-32 of the payload (int)
+ *   payload: day, part (bytes), input hash, build hash (32 bytes each),
+ *            answer type ('L' or 'B'), answer digits (ASCII, rest of the payload)
+ *
+ * A lookup that hits an entry in the older half of the log appends the entry again,
+ * so the position of an entry's last copy orders the log from least to most recently
+ * used. When the log outgrows its size bound it is compacted: the most recently used
+ * entries that fit in half the bound are written to a new log (with the next
+ * generation), which replaces the old one atomically.
+ *
+ * Several processes can share a directory. Every operation holds a lock on
+ * "answers.lock" (shared to read, exclusive to write), each process keeps an index
+ * of the log in memory and catches up with what others appended before using it,
+ * and a record torn by a crash is cut off by the next writer. Within a process, use
+ * one instance per directory; its methods are thread-safe.
+ */
+public final class AnswerCache {
+
+    public static final long DEFAULT_MAX_BYTES = 64L << 20;
+
+    private static final byte[] MAGIC = "AOCANS1\n".getBytes(StandardCharsets.US_ASCII);
+    private static final int HEADER = MAGIC.length + Long.BYTES;
+    private static final int HASH = 32;
+    private static final Map<Path, byte[]> BUILD_HASHES = new ConcurrentHashMap<>();
+
+    /** What an answer is stored under. */
+    public static final class Key {
+        final int day;
+        final int part;
+        final byte[] input;
+        final byte[] build;
+
+        public Key(int day, int part, byte[] inputHash, byte[] buildHash) {
+            this.day = day;
+            this.part = part;
+            this.input = inputHash;
+            this.build = buildHash;
+        }
+
+        /** The key for solving the bytes between the buffer's position and limit with this puzzle's solution. */
+        public static Key of(Puzzles.Puzzle puzzle, ByteBuffer input) {
+            MessageDigest sha = sha256();
+            sha.update(input.duplicate());
+            return new Key(puzzle.day, puzzle.part, sha.digest(), buildHash(puzzle));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return day == k.day && part == k.part && Arrays.equals(input, k.input) && Arrays.equals(build, k.build);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * day + part) + Arrays.hashCode(input);
+        }
+    }
+
+    /** Where the last copy of an entry sits in the log, and its answer. */
+    private static final class Entry {
+        final long offset;
+        final int size;
+        final Number answer;
+
+        Entry(long offset, int size, Number answer) {
+            this.offset = offset;
+            this.size = size;
+            this.answer = answer;
+        }
+    }
+
+    private final Path log;
+    private final Path lock;
+    private final long maxBytes;
+
+    // The log as this process last read it.
+    private final Map<Key, Entry> index = new HashMap<>();
+    private long generation = -1;
+    private long indexed;
+
+    private AnswerCache(Path dir, long maxBytes) {
+        this.log = dir.resolve("answers.log");
+        this.lock = dir.resolve("answers.lock");
+        this.maxBytes = maxBytes;
+    }
+
+    public static AnswerCache open(Path dir, long maxBytes) throws IOException {
+        if (maxBytes < 4096) throw new IllegalArgumentException("Cache bound too small: " + maxBytes);
+        Files.createDirectories(dir);
+        return new AnswerCache(dir, maxBytes);
+    }
+
+    /** The cached answer, or null. */
+    public synchronized Number get(Key key) {
+        try (FileChannel lockChannel = FileChannel.open(lock, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            FileLock held = lockChannel.lock(0, Long.MAX_VALUE, true);
+            try {
+                refresh(false);
+            } finally {
+                held.release();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        Entry e = index.get(key);
+        if (e == null) return null;
+        if (e.offset < indexed - maxBytes / 2) put(key, e.answer); // about to be evicted: mark it as recently used
+        return e.answer;
+    }
+
+    public synchronized void put(Key key, Number answer) {
+        byte[] record = encode(key, answer);
+        try (FileChannel lockChannel = FileChannel.open(lock, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            FileLock held = lockChannel.lock();
+            try {
+                refresh(true);
+                if (indexed + record.length > maxBytes) {
+                    compact();
+                    refresh(true);
+                }
+                try (FileChannel ch = FileChannel.open(log, StandardOpenOption.WRITE)) {
+                    ch.write(ByteBuffer.wrap(record), indexed);
+                    ch.force(false);
+                }
+                index.put(key, new Entry(indexed, record.length, answer));
+                indexed += record.length;
+            } finally {
+                held.release();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // ---------- Log ----------
+
+    /**
+     * Brings the index up to date with the log. Callers hold the lock; writers (who
+     * hold it exclusively) also create a missing log and cut off a torn last record.
+     */
+    private void refresh(boolean writer) throws IOException {
+        if (!Files.exists(log)) {
+            if (!writer) return;
+            writeLog(log, generation + 1, List.of());
+        }
+        try (FileChannel ch = FileChannel.open(log, writer ? StandardOpenOption.WRITE : StandardOpenOption.READ,
+                StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER);
+            readFully(ch, header, 0);
+            byte[] magic = new byte[MAGIC.length];
+            header.flip().get(magic);
+            if (!Arrays.equals(magic, MAGIC)) throw new IOException("Not an answer cache: " + log);
+            long gen = header.getLong();
+            if (gen != generation) {
+                index.clear();
+                generation = gen;
+                indexed = HEADER;
+            }
+
+            long size = ch.size();
+            if (size > indexed) {
+                ByteBuffer tail = ByteBuffer.allocate(Math.toIntExact(size - indexed));
+                readFully(ch, tail, indexed);
+                tail.flip();
+                while (tail.remaining() >= Integer.BYTES) {
+                    int start = tail.position();
+                    int length = tail.getInt();
+                    if (length < 2 + 2 * HASH + 2 || length > tail.remaining() - Integer.BYTES) break;
+                    byte[] payload = new byte[length];
+                    tail.get(payload);
+                    if (tail.getInt() != crc(payload)) break;
+                    int recordSize = tail.position() - start;
+                    index.put(decodeKey(payload), new Entry(indexed, recordSize, decodeAnswer(payload)));
+                    indexed += recordSize;
+                }
+            }
+            if (writer && ch.size() > indexed) ch.truncate(indexed);
+        }
+    }
+
+    /** Rewrites the log with the most recently used entries that fit in half the bound. */
+    private void compact() throws IOException {
+        List<Map.Entry<Key, Entry>> byRecency = new ArrayList<>(index.entrySet());
+        byRecency.sort((a, b) -> Long.compare(b.getValue().offset, a.getValue().offset));
+
+        List<byte[]> kept = new ArrayList<>();
+        long size = HEADER;
+        for (Map.Entry<Key, Entry> e : byRecency) {
+            if (size + e.getValue().size > maxBytes / 2) break;
+            kept.add(encode(e.getKey(), e.getValue().answer));
+            size += e.getValue().size;
+        }
+        Collections.reverse(kept);
+
+        Path tmp = log.resolveSibling("answers.log.tmp");
+        writeLog(tmp, generation + 1, kept);
+        Files.move(tmp, log, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void writeLog(Path file, long generation, List<byte[]> records) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER).put(MAGIC).putLong(generation);
+            ch.write(header.flip());
+            for (byte[] r : records) ch.write(ByteBuffer.wrap(r));
+            ch.force(true);
+        }
+    }
+
+    private static void readFully(FileChannel ch, ByteBuffer dst, long position) throws IOException {
+        while (dst.hasRemaining()) {
+            int n = ch.read(dst, position);
+            if (n < 0) throw new IOException("Truncated answer cache");
+            position += n;
+        }
+    }
+
+    // ---------- Records ----------
+
+    private static byte[] encode(Key key, Number answer) {
+        boolean big = answer instanceof BigInteger;
+        byte[] digits = answer.toString().getBytes(StandardCharsets.US_ASCII);
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        payload.write(key.day);
+        payload.write(key.part);
+        payload.writeBytes(key.input);
+        payload.writeBytes(key.build);
+        payload.write(big ? 'B' : 'L');
+        payload.writeBytes(digits);
+        byte[] p = payload.toByteArray();
+
+        ByteArrayOutputStream record = new ByteArrayOutputStream(p.length + 2 * Integer.BYTES);
+        try (DataOutputStream out = new DataOutputStream(record)) {
+            out.writeInt(p.length);
+            out.write(p);
+            out.writeInt(crc(p));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return record.toByteArray();
+    }
+
+    private static Key decodeKey(byte[] p) {
+        return new Key(p[0], p[1], Arrays.copyOfRange(p, 2, 2 + HASH), Arrays.copyOfRange(p, 2 + HASH, 2 + 2 * HASH));
+    }
+
+    private static Number decodeAnswer(byte[] p) {
+        int at = 2 + 2 * HASH;
+        String digits = new String(p, at + 1, p.length - at - 1, StandardCharsets.US_ASCII);
+        return p[at] == 'B' ? new BigInteger(digits) : (Number) Long.parseLong(digits);
+    }
+
+    private static int crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    // ---------- Hashes ----------
+
+    /**
+     * SHA-256 of the solution's source file and of the shared code it is compiled
+     * against (every source under Common/), read once per process. Editing either
+     * retires the answers the old build produced.
+     */
+    static byte[] buildHash(Puzzles.Puzzle puzzle) {
+        byte[] common = commonHash(Puzzles.root().resolve("Common"));
+        return BUILD_HASHES.computeIfAbsent(puzzle.source(), src -> {
+            try {
+                MessageDigest sha = sha256();
+                sha.update(common);
+                sha.update(Files.readAllBytes(src));
+                return sha.digest();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /** SHA-256 over the relative path and contents of every .java file under dir, in path order. */
+    private static byte[] commonHash(Path dir) {
+        return BUILD_HASHES.computeIfAbsent(dir, d -> {
+            try (Stream<Path> walk = Files.walk(d)) {
+                List<Path> sources = new ArrayList<>();
+                walk.filter(f -> f.toString().endsWith(".java") && Files.isRegularFile(f)).forEach(sources::add);
+                Collections.sort(sources);
+
+                MessageDigest sha = sha256();
+                for (Path f : sources) {
+                    sha.update(d.relativize(f).toString().getBytes(StandardCharsets.UTF_8));
+                    sha.update((byte) 0);
+                    sha.update(Files.readAllBytes(f));
+                }
+                return sha.digest();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package aoc;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Solves many input files in one JVM, in parallel.
+ *
+ * Usage: java -cp out/common aoc.Batch [--threads N] [--virtual] [--in-flight N]
+ *        [--cache DIR] (day | day/part ...) (DIR | MANIFEST)
+ *
+ * A directory is searched recursively for files named input.txt; any other file is
+ * read as a manifest listing one input per line (relative to the manifest, blank
+ * lines and '#' comments skipped). Every input is solved for every selected puzzle.
+ *
+ * The work runs on a fixed pool of --threads platform threads (default: one per
+ * core), which suits the CPU-bound days, or with --virtual on one virtual thread
+ * per task (Java 21+), which suits corpora where reading the files dominates.
+ * At most --in-flight tasks (default 4 per thread) are queued or running at once,
+ * so the inputs are listed and mapped only as fast as they are solved.
+ *
+ * Results are printed as they finish, one tab-separated line each:
+ * file, puzzle, answer (or ERROR and the message), parse time, solve time.
+ * With --cache, answers are looked up in and added to an {@link AnswerCache};
+ * a hit shows "cached" in place of the times.
+ */
+public final class Batch {
+
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private boolean virtual;
+    private int inFlight = -1;
+    private final List<String> selected = new ArrayList<>();
+    private Path source;
+    private AnswerCache cache;
+
+    private final AtomicLong solved = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong cached = new AtomicLong();
+
+    private Batch() { }
+
+    public static void main(String[] args) throws Exception {
+        Batch batch = new Batch();
+        batch.parseArgs(args);
+        batch.run();
+    }
+
+    private void parseArgs(String[] args) throws IOException {
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--virtual": virtual = true; break;
+                case "--in-flight": inFlight = Integer.parseInt(args[++i]); break;
+                case "--cache": cache = AnswerCache.open(Path.of(args[++i]), AnswerCache.DEFAULT_MAX_BYTES); break;
+                default:
+                    if (args[i].startsWith("--")) throw new IllegalArgumentException("Unknown option " + args[i]);
+                    if (i == args.length - 1) source = Path.of(args[i]);
+                    else selected.add(args[i]);
+            }
+        }
+        if (source == null || selected.isEmpty()) {
+            System.err.println("Usage: aoc.Batch [--threads N] [--virtual] [--in-flight N] [--cache DIR] (day | day/part ...) (DIR | MANIFEST)");
+            System.exit(2);
+        }
+        if (inFlight <= 0) inFlight = 4 * threads;
+    }
+
+    private List<Puzzles.Puzzle> puzzles() {
+        List<Puzzles.Puzzle> out = new ArrayList<>();
+        for (Puzzles.Puzzle p : Puzzles.all()) {
+            if (Puzzles.isSelected(selected, p)) out.add(p);
+        }
+        if (out.isEmpty()) throw new IllegalArgumentException("No solution matches " + selected);
+        return out;
+    }
+
+    private void run() throws Exception {
+        List<Puzzles.Puzzle> puzzles = puzzles();
+        // Compile up front, so the first tasks do not all wait on the compiler.
+        for (Puzzles.Puzzle p : puzzles) Puzzles.load(p);
+
+        ExecutorService pool = virtual ? virtualThreads() : Executors.newFixedThreadPool(threads);
+        Semaphore permits = new Semaphore(inFlight);
+        long t0 = System.nanoTime();
+
+        try (Stream<Path> files = inputs(source)) {
+            Iterator<Path> it = files.iterator();
+            while (it.hasNext()) {
+                Path file = it.next();
+                for (Puzzles.Puzzle p : puzzles) {
+                    permits.acquire();
+                    pool.execute(() -> {
+                        try {
+                            solve(p, file);
+                        } finally {
+                            permits.release();
+                        }
+                    });
+                }
+            }
+        } finally {
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        }
+
+        long wall = System.nanoTime() - t0;
+        System.err.printf(Locale.ROOT, "%d solved (%d from the cache), %d failed in %s (%.1f per second, %s)%n",
+                solved.get(), cached.get(), failed.get(), Runner.time(wall), (solved.get() + failed.get()) / (wall / 1e9),
+                virtual ? "virtual threads" : threads + " threads");
+    }
+
+    private void solve(Puzzles.Puzzle p, Path file) {
+        String result;
+        try {
+            ByteBuffer bytes = Input.map(file);
+            AnswerCache.Key key = cache == null ? null : AnswerCache.Key.of(p, bytes);
+            Number hit = key == null ? null : cache.get(key);
+            if (hit != null) {
+                result = hit + "\tcached\tcached";
+                cached.incrementAndGet();
+            } else {
+                Solver<Object> solver = Puzzles.load(p);
+                long t0 = System.nanoTime();
+                Object model = solver.parse(bytes);
+                long t1 = System.nanoTime();
+                Number answer = solver.solve(model);
+                long t2 = System.nanoTime();
+                if (key != null) cache.put(key, answer);
+                result = answer + "\t" + Runner.time(t1 - t0) + "\t" + Runner.time(t2 - t1);
+            }
+            solved.incrementAndGet();
+        } catch (IOException | RuntimeException | StackOverflowError e) {
+            result = "ERROR\t" + e;
+            failed.incrementAndGet();
+        }
+        String line = file + "\t" + p.name() + "\t" + result;
+        synchronized (System.out) {
+            System.out.println(line);
+        }
+    }
+
+    /** The input.txt files under a directory, or the files listed in a manifest. */
+    static Stream<Path> inputs(Path source) throws IOException {
+        if (Files.isDirectory(source)) {
+            return Files.walk(source)
+                    .filter(f -> f.getFileName().toString().equals("input.txt") && Files.isRegularFile(f));
+        }
+        Path base = source.toAbsolutePath().getParent();
+        BufferedReader manifest = Files.newBufferedReader(source);
+        return manifest.lines()
+                .map(String::trim)
+                .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                .map(base::resolve)
+                .onClose(() -> {
+                    try {
+                        manifest.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    /** Executors.newVirtualThreadPerTaskExecutor(), looked up at run time so the code still builds on Java 17. */
+    private static ExecutorService virtualThreads() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("--virtual needs Java 21 or later (running " + Runtime.version() + ")", e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package aoc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Sends one input to a running {@link Daemon} and prints the answer, as a drop-in
+ * for running a solution directly:
+ *
+ *   java -cp out/common aoc.Client 1 2 < "Day 01/Puzzle 02/input.txt"
+ *   java -cp out/common aoc.Client --socket /tmp/aoc.sock 1 2 "Day 01/Puzzle 02/input.txt"
+ *
+ * Errors reported by the daemon go to stderr with exit status 1.
+ */
+public final class Client {
+
+    private Client() { }
+
+    public static void main(String[] args) throws IOException {
+        Path socket = Daemon.DEFAULT_SOCKET;
+        int i = 0;
+        if (args.length > 1 && args[0].equals("--socket")) {
+            socket = Path.of(args[1]);
+            i = 2;
+        }
+        if (args.length - i < 2) {
+            System.err.println("Usage: aoc.Client [--socket PATH] day part [input]");
+            System.exit(2);
+        }
+        int day = Integer.parseInt(args[i]);
+        int part = Integer.parseInt(args[i + 1]);
+        String[] rest = Arrays.copyOfRange(args, i + 2, args.length);
+        ByteBuffer input = Input.read(rest);
+
+        try (SocketChannel ch = SocketChannel.open(StandardProtocolFamily.UNIX)) {
+            ch.connect(UnixDomainSocketAddress.of(socket));
+            OutputStream out = Channels.newOutputStream(ch);
+            out.write((day + " " + part + " " + input.remaining() + "\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            while (input.hasRemaining()) ch.write(input);
+
+            InputStream in = Channels.newInputStream(ch);
+            String reply = Daemon.readLine(in);
+            if (reply != null && reply.startsWith("OK ")) {
+                System.out.println(reply.substring(3));
+            } else {
+                System.err.println(reply == null ? "No reply from " + socket : reply);
+                System.exit(1);
+            }
+        }
+    }
+}
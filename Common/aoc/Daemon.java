@@ -0,0 +1,159 @@
+package aoc;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A long-lived process that keeps every solution loaded and JIT-compiled, and answers
+ * solve requests over a Unix domain socket.
+ *
+ * Usage: java -cp out/common aoc.Daemon [--socket PATH] [--warmup N] [--threads N] [--cache DIR]
+ *
+ * The protocol is plain enough for nc or socat. A request is a line "DAY PART LENGTH"
+ * followed by LENGTH bytes of input; the reply is one line, "OK <answer>" or
+ * "ERR <message>". A connection can carry any number of requests in turn.
+ *
+ *   { printf '1 2 %d\n' $(wc -c < input.txt); cat input.txt; } | nc -NU /tmp/aoc.sock
+ *
+ * Before it starts listening, the daemon runs every solution on its committed input
+ * (up to --warmup times, within a second per puzzle) so the first requests already
+ * get compiled code. With --cache, answers also go through an {@link AnswerCache}.
+ * See {@link Client} for the matching client.
+ */
+public final class Daemon {
+
+    static final Path DEFAULT_SOCKET = Path.of(System.getProperty("java.io.tmpdir"), "aoc.sock");
+
+    private static final int MAX_INPUT = 256 << 20;
+    private static final long WARMUP_BUDGET_NANOS = 1_000_000_000L;
+
+    private Path socket = DEFAULT_SOCKET;
+    private int warmup = 20;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private AnswerCache cache;
+
+    private Daemon() { }
+
+    public static void main(String[] args) throws IOException {
+        Daemon daemon = new Daemon();
+        daemon.parseArgs(args);
+        daemon.warmUp();
+        daemon.serve();
+    }
+
+    private void parseArgs(String[] args) throws IOException {
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--socket": socket = Path.of(args[++i]); break;
+                case "--warmup": warmup = Integer.parseInt(args[++i]); break;
+                case "--threads": threads = Integer.parseInt(args[++i]); break;
+                case "--cache": cache = AnswerCache.open(Path.of(args[++i]), AnswerCache.DEFAULT_MAX_BYTES); break;
+                default: throw new IllegalArgumentException("Unknown option " + args[i]);
+            }
+        }
+    }
+
+    private void warmUp() throws IOException {
+        for (Puzzles.Puzzle p : Puzzles.all()) {
+            Solver<Object> solver = Puzzles.load(p);
+            if (!Files.isRegularFile(p.input())) continue;
+            ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(p.input())).asReadOnlyBuffer();
+
+            long t0 = System.nanoTime();
+            int runs = 0;
+            while (runs < warmup && System.nanoTime() - t0 < WARMUP_BUDGET_NANOS) {
+                solver.solve(solver.parse(bytes));
+                runs++;
+            }
+            System.err.printf(Locale.ROOT, "warmed %s: %d runs in %s%n", p.name(), runs, Runner.time(System.nanoTime() - t0));
+        }
+    }
+
+    private void serve() throws IOException {
+        Files.deleteIfExists(socket);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try (ServerSocketChannel server = ServerSocketChannel.open(StandardProtocolFamily.UNIX)) {
+            server.bind(UnixDomainSocketAddress.of(socket));
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                try {
+                    Files.deleteIfExists(socket);
+                } catch (IOException ignored) {
+                    // Nothing left to do on the way out.
+                }
+            }));
+            System.err.println("listening on " + socket);
+            while (true) {
+                SocketChannel client = server.accept();
+                pool.execute(() -> handle(client));
+            }
+        }
+    }
+
+    private void handle(SocketChannel channel) {
+        try (SocketChannel ch = channel) {
+            InputStream in = new BufferedInputStream(Channels.newInputStream(ch));
+            OutputStream out = Channels.newOutputStream(ch);
+            String header;
+            while ((header = readLine(in)) != null) {
+                String reply;
+                try {
+                    reply = "OK " + solve(header, in);
+                } catch (RuntimeException | StackOverflowError e) {
+                    reply = "ERR " + e;
+                }
+                out.write((reply.replace('\n', ' ') + "\n").getBytes(StandardCharsets.UTF_8));
+                out.flush();
+            }
+        } catch (IOException e) {
+            System.err.println("connection dropped: " + e);
+        }
+    }
+
+    private Number solve(String header, InputStream in) throws IOException {
+        String[] f = header.trim().split("\\s+");
+        if (f.length != 3) throw new IllegalArgumentException("Expected \"DAY PART LENGTH\" but got \"" + header + "\"");
+        int day = Integer.parseInt(f[0]);
+        int part = Integer.parseInt(f[1]);
+        int length = Integer.parseInt(f[2]);
+        if (length < 0 || length > MAX_INPUT) throw new IllegalArgumentException("Bad input length " + length);
+
+        byte[] data = in.readNBytes(length);
+        if (data.length != length) throw new IOException("Input ended after " + data.length + " of " + length + " bytes");
+        ByteBuffer bytes = ByteBuffer.wrap(data).asReadOnlyBuffer();
+
+        Puzzles.Puzzle p = Puzzles.find(day, part);
+        AnswerCache.Key key = cache == null ? null : AnswerCache.Key.of(p, bytes);
+        Number answer = key == null ? null : cache.get(key);
+        if (answer == null) {
+            Solver<Object> solver = Puzzles.load(p);
+            answer = solver.solve(solver.parse(bytes));
+            if (key != null) cache.put(key, answer);
+        }
+        return answer;
+    }
+
+    /** One line without its '\n', or null at the end of the stream. */
+    static String readLine(InputStream in) throws IOException {
+        ByteArrayOutputStream line = new ByteArrayOutputStream(32);
+        for (int b; (b = in.read()) != '\n'; ) {
+            if (b < 0) return line.size() == 0 ? null : line.toString(StandardCharsets.UTF_8);
+            line.write(b);
+        }
+        return line.toString(StandardCharsets.UTF_8);
+    }
+}
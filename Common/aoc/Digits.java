@@ -0,0 +1,90 @@
+package aoc;
+
+import java.math.BigInteger;
+
+/**
+ * The largest number made of k digits of a digit sequence, kept in their order.
+ *
+ * One pass with a monotonic stack: each digit pops the smaller digits before it, as
+ * long as enough digits are left to still fill the selection, so every digit is pushed
+ * and popped at most once and the pass is O(n) for any k. The digits are values 0-9,
+ * not characters.
+ */
+public final class Digits {
+
+    /** The most digits whose value always fits in a long. */
+    public static final int MAX_LONG_DIGITS = 18;
+
+    private Digits() {
+    }
+
+    /**
+     * The largest k-digit number in digits[start, end), or the whole range if it has
+     * fewer than k digits. stack is scratch space of at least k digits, so that a loop
+     * over many ranges allocates nothing.
+     *
+     * @throws IllegalArgumentException if k is over {@link #MAX_LONG_DIGITS} (use
+     *                                  {@link #largestExact} then) or the stack is
+     *                                  shorter than k
+     */
+    public static long largest(byte[] digits, int start, int end, int k, byte[] stack) {
+        if (k > MAX_LONG_DIGITS) {
+            throw new IllegalArgumentException(k + " digits do not fit in a long");
+        }
+        int size = select(digits, start, end, k, stack);
+        long result = 0;
+        for (int i = 0; i < size; i++) {
+            result = result * 10 + stack[i];
+        }
+        return result;
+    }
+
+    /**
+     * The same for any k: up to {@link #MAX_LONG_DIGITS} digits through the long path,
+     * beyond that from the selected digits as a BigInteger. Selecting stays linear in
+     * the range; only the conversion costs more for very long selections.
+     */
+    public static BigInteger largestExact(byte[] digits, int start, int end, int k) {
+        if (k <= MAX_LONG_DIGITS) {
+            return BigInteger.valueOf(largest(digits, start, end, k, new byte[Math.max(k, 0)]));
+        }
+        byte[] stack = new byte[Math.min(k, end - start)];
+        int size = select(digits, start, end, stack.length, stack);
+        if (size == 0) {
+            return BigInteger.ZERO;
+        }
+        char[] text = new char[size];
+        for (int i = 0; i < size; i++) {
+            text[i] = (char) ('0' + stack[i]);
+        }
+        return new BigInteger(new String(text));
+    }
+
+    /**
+     * Selects the k digits of digits[start, end) that form the largest number into
+     * stack[0 .. k) and returns how many were selected (all of them if the range has
+     * fewer than k).
+     *
+     * @throws IllegalArgumentException if k is negative or the stack is shorter than k
+     */
+    public static int select(byte[] digits, int start, int end, int k, byte[] stack) {
+        if (k < 0 || stack.length < k) {
+            throw new IllegalArgumentException("No room for " + k + " digits in a stack of " + stack.length);
+        }
+        int size = 0;
+
+        for (int i = start; i < end; i++) {
+            byte digit = digits[i];
+            int left = end - i; // digits from this one to the end of the range
+
+            while (size > 0 && stack[size - 1] < digit && size - 1 + left >= k) {
+                size--;
+            }
+            if (size < k) {
+                stack[size++] = digit;
+            }
+        }
+
+        return size;
+    }
+}
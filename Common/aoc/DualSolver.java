@@ -0,0 +1,44 @@
+package aoc;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A day's two parts solved together: the input is parsed once, and whatever both
+ * parts need (a sorted edge list, an adjacency structure) is built once.
+ *
+ * The contract is that of {@link Solver}: parse() leaves the buffer as it found it,
+ * solve() leaves the model unchanged, and an instance is confined to one thread.
+ */
+public interface DualSolver<M> {
+
+    /** The answers to both parts: each a Long, or a BigInteger where it can outgrow a long. */
+    final class Answers {
+        public final Number part1;
+        public final Number part2;
+
+        public Answers(Number part1, Number part2) {
+            this.part1 = part1;
+            this.part2 = part2;
+        }
+
+        @Override
+        public String toString() {
+            return part1 + " / " + part2;
+        }
+    }
+
+    M parse(ByteBuffer input);
+
+    Answers solve(M model);
+
+    /**
+     * Standard main(): parse the input named by args (or stdin) and print both answers, one per line.
+     * A leading "--stats" argument turns on the {@link Stats} report.
+     */
+    static <M> void run(DualSolver<M> solver, String[] args) throws IOException {
+        Answers answers = solver.solve(solver.parse(Input.read(Stats.takeFlag(args))));
+        System.out.println(answers.part1);
+        System.out.println(answers.part2);
+    }
+}
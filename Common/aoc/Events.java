@@ -0,0 +1,131 @@
+package aoc;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+import java.nio.ByteBuffer;
+
+/**
+ * JFR events around the phases of a solution: parsing the input, building
+ * intermediate structures, and solving (usually a search).
+ *
+ * Every solution emits them, so a recording of any run shows where the time and the
+ * allocations went without a profiler attached:
+ *
+ *   java -XX:StartFlightRecording=filename=run.jfr -cp ... Solution01 input.txt
+ *   jfr print --events aoc.Parse,aoc.Build,aoc.Solve run.jfr
+ *
+ * When no recording is running the events are disabled and cost next to nothing.
+ */
+public final class Events {
+
+    private Events() { }
+
+    @Name("aoc.Parse")
+    @Label("Parse")
+    @Category("Advent of Code")
+    @Description("Turning the raw input into a model")
+    @StackTrace(false)
+    public static final class Parse extends Event {
+        @Label("Puzzle")
+        public String puzzle;
+
+        @Label("Bytes")
+        @DataAmount
+        public long bytes;
+
+        @Label("Items")
+        @Description("Lines, records or cells in the model")
+        public long items;
+
+        /** Records the item count and commits the event. */
+        public void done(long items) {
+            this.items = items;
+            commit();
+        }
+    }
+
+    @Name("aoc.Build")
+    @Label("Build")
+    @Category("Advent of Code")
+    @Description("Precomputing a structure the search runs over")
+    @StackTrace(false)
+    public static final class Build extends Event {
+        @Label("Puzzle")
+        public String puzzle;
+
+        @Label("Step")
+        public String step;
+
+        @Label("Items")
+        @Description("Size of the structure built")
+        public long items;
+
+        public void done(long items) {
+            this.items = items;
+            commit();
+        }
+    }
+
+    @Name("aoc.Solve")
+    @Label("Solve")
+    @Category("Advent of Code")
+    @Description("Computing the answer from the model")
+    @StackTrace(false)
+    public static final class Solve extends Event {
+        @Label("Puzzle")
+        public String puzzle;
+
+        @Label("Nodes")
+        @Description("Search nodes visited (recursive calls or states), 0 for solutions without a search")
+        public long nodes;
+
+        @Label("Answer")
+        public String answer;
+
+        public void done(long nodes, Number answer) {
+            this.nodes = nodes;
+            if (shouldCommit()) {
+                this.answer = String.valueOf(answer);
+                commit();
+            }
+        }
+
+        /** For a {@link DualSolver}: both answers, as "part1 / part2". */
+        public void done(long nodes, DualSolver.Answers answers) {
+            this.nodes = nodes;
+            if (shouldCommit()) {
+                this.answer = String.valueOf(answers);
+                commit();
+            }
+        }
+    }
+
+    public static Parse parse(String puzzle, ByteBuffer input) {
+        Parse e = new Parse();
+        e.puzzle = puzzle;
+        e.bytes = input.remaining();
+        e.begin();
+        return e;
+    }
+
+    public static Build build(String puzzle, String step) {
+        Build e = new Build();
+        e.puzzle = puzzle;
+        e.step = step;
+        e.begin();
+        return e;
+    }
+
+    public static Solve solve(String puzzle) {
+        Solve e = new Solve();
+        e.puzzle = puzzle;
+        e.begin();
+        return e;
+    }
+}
@@ -0,0 +1,104 @@
+package aoc;
+
+import java.util.Arrays;
+
+/**
+ * A rectangular grid of bytes in one flat array, framed by a one-cell border of a
+ * sentinel value, so a cell's neighbours can be read without bounds checks.
+ *
+ * Cell (row, col) is cells[index(row, col)] = cells[(row + 1) * stride + col + 1],
+ * for 0 <= row < height and 0 <= col < width; stride = width + 2. The border cells
+ * (row or col of -1, height or width) hold the sentinel, and so do the padding cells
+ * of input lines shorter than the longest one. Moving one step from any index is a
+ * fixed offset: +-1 across, +-stride down and up, and {@link #neighbors} lists all
+ * eight, so code that walks the grid is plain array indexing.
+ */
+public final class Grid {
+
+    public final int width;
+    public final int height;
+    public final int stride;
+    public final byte[] cells;
+    public final byte border;
+
+    /** Index offsets of the eight neighbours, clockwise from the one above. */
+    public final int[] neighbors;
+
+    private Grid(int width, int height, byte border, byte[] cells) {
+        this.width = width;
+        this.height = height;
+        this.stride = width + 2;
+        this.border = border;
+        this.cells = cells;
+        this.neighbors = new int[]{-stride, -stride + 1, 1, stride + 1, stride, stride - 1, -1, -stride - 1};
+    }
+
+    /**
+     * Reads lines from the input's position up to the first empty line (or the end),
+     * leaving the input after them, and frames them with the border value.
+     */
+    public static Grid parse(Input input, byte border) {
+        // First pass: the size
+        int start = input.position();
+        int width = 0;
+        int height = 0;
+        while (!input.atLineEnd()) {
+            width = Math.max(width, input.lineEnd() - input.position());
+            height++;
+            input.nextLine();
+        }
+
+        // Second pass: copy each line into its row
+        byte[] cells = new byte[(height + 2) * (width + 2)];
+        Arrays.fill(cells, border);
+        input.position(start);
+        for (int row = 0; row < height; row++) {
+            int end = input.lineEnd();
+            int at = (row + 1) * (width + 2) + 1;
+            for (int i = input.position(); i < end; i++) cells[at++] = input.byteAt(i);
+            input.nextLine();
+        }
+        return new Grid(width, height, border, cells);
+    }
+
+    public int index(int row, int col) {
+        return (row + 1) * stride + col + 1;
+    }
+
+    public int row(int index) {
+        return index / stride - 1;
+    }
+
+    public int col(int index) {
+        return index % stride - 1;
+    }
+
+    public byte get(int row, int col) {
+        return cells[index(row, col)];
+    }
+
+    /** The index of the first cell holding value (in row order), or -1. */
+    public int find(byte value) {
+        for (int row = 0; row < height; row++) {
+            for (int i = index(row, 0), end = i + width; i < end; i++) {
+                if (cells[i] == value) return i;
+            }
+        }
+        return -1;
+    }
+
+    /** How many of the eight neighbours of the cell at index hold value. */
+    public int countNeighbors(int index, byte value) {
+        byte[] c = cells;
+        int count = 0;
+        for (int d : neighbors) {
+            count += c[index + d] == value ? 1 : 0;
+        }
+        return count;
+    }
+
+    /** A grid with the same cells, to modify while this one stays as it is. */
+    public Grid copy() {
+        return new Grid(width, height, border, cells.clone());
+    }
+}
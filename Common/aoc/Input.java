@@ -0,0 +1,236 @@
+package aoc;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Byte cursor over a puzzle input.
+ *
+ * The whole input is held in one ByteBuffer (memory-mapped when a file is given,
+ * otherwise stdin read in bulk). Numbers, delimiters and line boundaries are read
+ * straight from the bytes, so parsing does not create a String per line.
+ */
+public final class Input {
+    private static final int CHUNK = 1 << 16;
+
+    private final ByteBuffer buf;
+    private final int limit;
+    private int pos;
+
+    public Input(ByteBuffer buf) {
+        this.buf = buf;
+        this.pos = buf.position();
+        this.limit = buf.limit();
+    }
+
+    // ---------- Reading the input ----------
+
+    /** Maps args[0] if a file was given, otherwise reads all of stdin. */
+    public static ByteBuffer read(String[] args) throws IOException {
+        if (args.length > 0) return map(Path.of(args[0]));
+        return readAll(System.in, new byte[CHUNK]);
+    }
+
+    public static ByteBuffer map(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            return ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+        }
+    }
+
+    /**
+     * Reads the stream to the end into scratch, growing it only when the input
+     * does not fit (an empty scratch array is fine). Callers that read many inputs
+     * can pass the same array again.
+     */
+    public static ByteBuffer readAll(InputStream in, byte[] scratch) throws IOException {
+        byte[] data = scratch;
+        int n = 0;
+        while (true) {
+            // Grow before reading: a read into no room returns 0, never the end
+            if (n == data.length) data = Arrays.copyOf(data, Math.max(CHUNK, data.length * 2));
+            int r = in.read(data, n, data.length - n);
+            if (r == -1) break;
+            n += r;
+        }
+        return ByteBuffer.wrap(data, 0, n);
+    }
+
+    // ---------- Position ----------
+
+    public int position() {
+        return pos;
+    }
+
+    public void position(int pos) {
+        this.pos = pos;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public boolean hasRemaining() {
+        return pos < limit;
+    }
+
+    /** Skips whitespace (including newlines) and reports whether anything is left. */
+    public boolean hasNext() {
+        skipWhitespace();
+        return pos < limit;
+    }
+
+    // ---------- Single bytes and delimiters ----------
+
+    /** The current byte, or 0 at the end of the input. */
+    public byte peek() {
+        return pos < limit ? buf.get(pos) : 0;
+    }
+
+    public byte next() {
+        return buf.get(pos++);
+    }
+
+    public byte byteAt(int index) {
+        return buf.get(index);
+    }
+
+    /** Consumes c if it is the current byte. */
+    public boolean skip(char c) {
+        if (pos < limit && buf.get(pos) == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    public void expect(char c) {
+        if (!skip(c)) {
+            throw new IllegalArgumentException("Expected '" + c + "' at offset " + pos + " but found " + describe(pos));
+        }
+    }
+
+    /** Skips spaces and tabs, but not line breaks. */
+    public void skipSpaces() {
+        while (pos < limit) {
+            byte b = buf.get(pos);
+            if (b != ' ' && b != '\t') break;
+            pos++;
+        }
+    }
+
+    public void skipWhitespace() {
+        while (pos < limit && buf.get(pos) <= ' ') pos++;
+    }
+
+    /** Moves past the next occurrence of c (or to the end if there is none). */
+    public void skipPast(char c) {
+        while (pos < limit && buf.get(pos++) != c) { }
+    }
+
+    // ---------- Lines ----------
+
+    public boolean atLineEnd() {
+        if (pos >= limit) return true;
+        byte b = buf.get(pos);
+        return b == '\n' || b == '\r';
+    }
+
+    /** Index just past the last byte of the current line (line break not included). */
+    public int lineEnd() {
+        int i = pos;
+        while (i < limit) {
+            byte b = buf.get(i);
+            if (b == '\n' || b == '\r') break;
+            i++;
+        }
+        return i;
+    }
+
+    /** Moves to the start of the next line. Returns false if there is no next line. */
+    public boolean nextLine() {
+        pos = lineEnd();
+        if (pos < limit && buf.get(pos) == '\r') pos++;
+        if (pos < limit && buf.get(pos) == '\n') pos++;
+        return pos < limit;
+    }
+
+    /**
+     * Returns the rest of the current line and moves to the next one.
+     * This allocates; it is meant for grid-shaped inputs that are kept as text.
+     */
+    public String readLine() {
+        int end = lineEnd();
+        String line = text(pos, end);
+        pos = end;
+        nextLine();
+        return line;
+    }
+
+    public String text(int from, int to) {
+        byte[] bytes = new byte[to - from];
+        buf.get(from, bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    // ---------- Numbers and words ----------
+
+    public boolean atDigit() {
+        if (pos >= limit) return false;
+        byte b = buf.get(pos);
+        return b >= '0' && b <= '9';
+    }
+
+    /** Reads an optionally signed decimal int, skipping leading spaces on the same line. */
+    public int nextInt() {
+        long v = nextLong();
+        if (v != (int) v) throw new NumberFormatException("int overflow near offset " + pos);
+        return (int) v;
+    }
+
+    /**
+     * Reads an optionally signed decimal long, skipping leading spaces on the same line.
+     * A number outside the long range is a NumberFormatException, not a wrapped value.
+     */
+    public long nextLong() {
+        skipSpaces();
+        boolean negative = skip('-');
+        int start = pos;
+        // Accumulated as a negative number, which also reaches Long.MIN_VALUE
+        long v = 0;
+        try {
+            while (pos < limit) {
+                int d = buf.get(pos) - '0';
+                if (d < 0 || d > 9) break;
+                v = Math.subtractExact(Math.multiplyExact(v, 10), d);
+                pos++;
+            }
+            if (pos == start) {
+                throw new NumberFormatException("Expected a number at offset " + start + " but found " + describe(start));
+            }
+            return negative ? v : Math.negateExact(v);
+        } catch (ArithmeticException e) {
+            throw new NumberFormatException("long overflow near offset " + start);
+        }
+    }
+
+    /** Reads a run of letters and digits, skipping leading spaces on the same line. */
+    public String nextWord() {
+        skipSpaces();
+        int start = pos;
+        while (pos < limit && Character.isLetterOrDigit(buf.get(pos))) pos++;
+        if (pos == start) {
+            throw new IllegalArgumentException("Expected a word at offset " + start + " but found " + describe(start));
+        }
+        return text(start, pos);
+    }
+
+    private String describe(int at) {
+        return at < limit ? "'" + (char) buf.get(at) + "'" : "end of input";
+    }
+}
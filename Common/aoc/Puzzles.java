@@ -0,0 +1,191 @@
+package aoc;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Finds the "Day NN/Puzzle PP/SolutionPP.java" sources and loads them as Solvers,
+ * and the combined "Day NN/Solution.java" sources as DualSolvers.
+ *
+ * Every solution is a top-level class in the default package, and the names repeat
+ * from day to day (twelve Solution01 classes). Each puzzle is therefore compiled
+ * into its own directory and loaded through its own class loader, with this
+ * package shared from the parent loader.
+ */
+public final class Puzzles {
+
+    public static final class Puzzle {
+        /** The part number of a day's combined solution, which solves both parts. */
+        public static final int BOTH = 0;
+
+        public final int day;
+        public final int part;
+        public final Path dir;
+
+        Puzzle(int day, int part, Path dir) {
+            this.day = day;
+            this.part = part;
+            this.dir = dir;
+        }
+
+        public String className() {
+            return part == BOTH ? "Solution" : String.format("Solution%02d", part);
+        }
+
+        public Path source() {
+            return dir.resolve(className() + ".java");
+        }
+
+        /** The committed input; both parts of a day share theirs, so a combined solution reads Part 1's. */
+        public Path input() {
+            return part == BOTH ? dir.resolve("Puzzle 01/input.txt") : dir.resolve("input.txt");
+        }
+
+        public String name() {
+            return part == BOTH ? String.format("Day %02d/Both", day) : String.format("Day %02d/Puzzle %02d", day, part);
+        }
+
+        @Override
+        public String toString() {
+            return name();
+        }
+    }
+
+    private static final Map<Path, Class<?>> LOADED = new ConcurrentHashMap<>();
+    private static Path classes;
+
+    private Puzzles() { }
+
+    /** The repository root: -Daoc.root, or the nearest directory above the working directory holding Common/aoc. */
+    public static Path root() {
+        String prop = System.getProperty("aoc.root");
+        if (prop != null) return Path.of(prop).toAbsolutePath().normalize();
+        for (Path p = Path.of("").toAbsolutePath(); p != null; p = p.getParent()) {
+            if (Files.isDirectory(p.resolve("Common/aoc"))) return p;
+        }
+        throw new IllegalStateException("Cannot find the repository root; pass -Daoc.root=<dir>");
+    }
+
+    /** All puzzles that have a solution, in calendar order. */
+    public static List<Puzzle> all() {
+        List<Puzzle> out = new ArrayList<>();
+        for (int day = 1; day <= 25; day++) {
+            for (int part = 1; part <= 2; part++) {
+                Path dir = root().resolve(String.format("Day %02d/Puzzle %02d", day, part));
+                Puzzle p = new Puzzle(day, part, dir);
+                if (Files.isRegularFile(p.source())) out.add(p);
+            }
+        }
+        return out;
+    }
+
+    /** The days that have a combined solution, in calendar order. */
+    public static List<Puzzle> combined() {
+        List<Puzzle> out = new ArrayList<>();
+        for (int day = 1; day <= 25; day++) {
+            Puzzle p = new Puzzle(day, Puzzle.BOTH, root().resolve(String.format("Day %02d", day)));
+            if (Files.isRegularFile(p.source())) out.add(p);
+        }
+        return out;
+    }
+
+    /**
+     * Whether the puzzle matches one of the command-line selectors: "day" picks both
+     * parts and the combined solution of a day, "day/part" one part (and the day's
+     * combined solution, which answers it too). No selectors at all match every puzzle.
+     */
+    public static boolean isSelected(List<String> selectors, Puzzle p) {
+        if (selectors.isEmpty()) return true;
+        for (String s : selectors) {
+            String[] dp = s.split("/");
+            if (Integer.parseInt(dp[0]) != p.day) continue;
+            if (dp.length == 1 || p.part == Puzzle.BOTH || Integer.parseInt(dp[1]) == p.part) return true;
+        }
+        return false;
+    }
+
+    public static Puzzle find(int day, int part) {
+        for (Puzzle p : all()) {
+            if (p.day == day && p.part == part) return p;
+        }
+        throw new IllegalArgumentException(String.format("No solution for Day %02d/Puzzle %02d", day, part));
+    }
+
+    /** Compiles the puzzle's solution (once per JVM) and returns a new instance of it. */
+    @SuppressWarnings("unchecked")
+    public static Solver<Object> load(Puzzle p) {
+        try {
+            Class<?> cls = loadClass(p);
+            return (Solver<Object>) cls.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot instantiate " + p.name(), e);
+        }
+    }
+
+    /** Compiles the day's combined solution (once per JVM) and returns a new instance of it. */
+    @SuppressWarnings("unchecked")
+    public static DualSolver<Object> loadCombined(Puzzle p) {
+        if (p.part != Puzzle.BOTH) throw new IllegalArgumentException(p.name() + " is not a combined solution");
+        try {
+            Class<?> cls = loadClass(p);
+            return (DualSolver<Object>) cls.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot instantiate " + p.name(), e);
+        }
+    }
+
+    private static Class<?> loadClass(Puzzle p) {
+        return LOADED.computeIfAbsent(p.source(), src -> {
+            try {
+                Path out = compile(p);
+                ClassLoader loader = new URLClassLoader(new URL[]{out.toUri().toURL()}, Puzzles.class.getClassLoader());
+                return Class.forName(p.className(), true, loader);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("Compiled " + p.name() + " but found no " + p.className(), e);
+            }
+        });
+    }
+
+    private static synchronized Path compile(Puzzle p) throws IOException {
+        if (classes == null) {
+            classes = Files.createTempDirectory("aoc-classes");
+        }
+        Path out = classes.resolve(String.format("day%02d-part%02d", p.day, p.part));
+        Files.createDirectories(out);
+
+        JavaCompiler javac = ToolProvider.getSystemJavaCompiler();
+        if (javac == null) throw new IllegalStateException("A JDK is needed to compile the solutions");
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager files = javac.getStandardFileManager(diagnostics, null, null)) {
+            List<String> options = List.of(
+                    "-d", out.toString(),
+                    "-cp", System.getProperty("java.class.path"),
+                    "-proc:none", "-nowarn");
+            boolean ok = javac.getTask(null, files, diagnostics, options, null,
+                    files.getJavaFileObjects(p.source().toFile())).call();
+            if (!ok) {
+                StringBuilder msg = new StringBuilder("Cannot compile " + p.source());
+                for (Diagnostic<?> d : diagnostics.getDiagnostics()) msg.append('\n').append(d);
+                throw new IllegalStateException(msg.toString());
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,214 @@
+package aoc;
+
+import aoc.gen.Generators;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Runs every puzzle in one JVM and prints per-phase latency percentiles.
+ *
+ * Usage: java -cp out/common aoc.Runner [--mode cold|warm|steady] [--warmup N]
+ *        [--iterations N] [--budget SECONDS] [--scale S] [--combined] [--stats] [day | day/part ...]
+ *
+ *  - cold:   one run per puzzle straight after loading it (interpreter and C1 code).
+ *  - warm:   N warmup runs, then the measured runs.
+ *  - steady: warm up until the median of the last batch stops moving, then measure.
+ *
+ * The budget caps the time spent on one puzzle, so the slow days still finish
+ * with at least one measured run. With --scale the committed inputs are replaced
+ * by generated ones that size (see {@link aoc.gen.Generators}). With --combined each
+ * day runs its {@link DualSolver} ("Day NN/Solution.java"), which answers both parts
+ * from one parse, in place of the two separate solutions. With --stats each puzzle
+ * runs once more after it is measured with the {@link Stats} report on (JSON on stderr).
+ */
+public final class Runner {
+
+    enum Mode { COLD, WARM, STEADY }
+
+    private static final int STEADY_BATCH = 5;
+    private static final double STEADY_TOLERANCE = 0.05;
+
+    private Mode mode = Mode.WARM;
+    private int warmup = 10;
+    private int iterations = 20;
+    private long budgetNanos = 10_000_000_000L;
+    private double scale;
+    private boolean combined;
+    private boolean stats;
+    private final List<String> selected = new ArrayList<>();
+
+    private Runner() { }
+
+    public static void main(String[] args) throws IOException {
+        Runner runner = new Runner();
+        runner.parseArgs(args);
+        runner.run();
+    }
+
+    private void parseArgs(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--mode": mode = Mode.valueOf(args[++i].toUpperCase(Locale.ROOT)); break;
+                case "--warmup": warmup = Integer.parseInt(args[++i]); break;
+                case "--iterations": iterations = Integer.parseInt(args[++i]); break;
+                case "--budget": budgetNanos = (long) (Double.parseDouble(args[++i]) * 1e9); break;
+                case "--scale": scale = Double.parseDouble(args[++i]); break;
+                case "--combined": combined = true; break;
+                case "--stats": stats = true; break;
+                default:
+                    if (args[i].startsWith("--")) throw new IllegalArgumentException("Unknown option " + args[i]);
+                    selected.add(args[i]);
+            }
+        }
+        if (mode == Mode.COLD) {
+            warmup = 0;
+            iterations = 1;
+        }
+    }
+
+    private void run() throws IOException {
+        System.out.printf("mode=%s warmup=%d iterations=%d budget=%.0fs input=%s%n%n",
+                mode.name().toLowerCase(Locale.ROOT), warmup, iterations, budgetNanos / 1e9,
+                scale > 0 ? "x" + scale : "committed");
+
+        // Rows are printed once every puzzle has run, so the answer column can be as
+        // wide as the widest answer: {name, answer, timings}, or {name, note}
+        List<String[]> rows = new ArrayList<>();
+        rows.add(new String[]{"Puzzle", "Answer", String.format("%5s %9s | %9s %9s %9s | %9s %9s %9s | %9s %9s",
+                "Runs", "Load", "parse p50", "p90", "p99", "solve p50", "p90", "p99", "total p50", "max")});
+        long calendarNanos = 0;
+        for (Puzzles.Puzzle p : combined ? Puzzles.combined() : Puzzles.all()) {
+            if (!Puzzles.isSelected(selected, p)) continue;
+            byte[] data;
+            if (scale > 0) {
+                data = Generators.generate(p.day, scale, Generators.DEFAULT_SEED);
+            } else if (Files.isRegularFile(p.input())) {
+                data = Files.readAllBytes(p.input());
+            } else {
+                rows.add(new String[]{p.name(), "(no input.txt)"});
+                continue;
+            }
+            ByteBuffer bytes = ByteBuffer.wrap(data).asReadOnlyBuffer();
+
+            long t0 = System.nanoTime();
+            Function<ByteBuffer, Object> parser;
+            Function<Object, ?> solver;
+            if (combined) {
+                DualSolver<Object> dual = Puzzles.loadCombined(p);
+                parser = dual::parse;
+                solver = dual::solve;
+            } else {
+                Solver<Object> single = Puzzles.load(p);
+                parser = single::parse;
+                solver = single::solve;
+            }
+            long loadNanos = System.nanoTime() - t0;
+
+            Samples s = measure(parser, solver, bytes);
+            if (stats) {
+                // One more run, outside the measurements, for the counters
+                Stats.enable(true);
+                try {
+                    solver.apply(parser.apply(bytes));
+                } finally {
+                    Stats.enable(false);
+                }
+            }
+            calendarNanos += percentile(s.total, 50);
+
+            rows.add(new String[]{p.name(), String.valueOf(s.answer), String.format("%5d %9s | %9s %9s %9s | %9s %9s %9s | %9s %9s",
+                    s.total.length, time(loadNanos),
+                    time(percentile(s.parse, 50)), time(percentile(s.parse, 90)), time(percentile(s.parse, 99)),
+                    time(percentile(s.solve, 50)), time(percentile(s.solve, 90)), time(percentile(s.solve, 99)),
+                    time(percentile(s.total, 50)), time(s.total[s.total.length - 1]))});
+        }
+
+        int answerWidth = 0;
+        for (String[] row : rows) {
+            if (row.length == 3) answerWidth = Math.max(answerWidth, row[1].length());
+        }
+        for (String[] row : rows) {
+            if (row.length == 3) System.out.printf("%-17s %-" + answerWidth + "s %s%n", row[0], row[1], row[2]);
+            else System.out.printf("%-17s %s%n", row[0], row[1]);
+        }
+        System.out.printf("%nWhole calendar (sum of total p50): %s%n", time(calendarNanos));
+    }
+
+    static final class Samples {
+        final long[] parse;
+        final long[] solve;
+        final long[] total;
+        final Object answer;
+
+        Samples(long[] parse, long[] solve, Object answer) {
+            this.parse = parse.clone();
+            this.solve = solve.clone();
+            this.total = new long[parse.length];
+            for (int i = 0; i < parse.length; i++) total[i] = parse[i] + solve[i];
+            Arrays.sort(this.parse);
+            Arrays.sort(this.solve);
+            Arrays.sort(this.total);
+            this.answer = answer;
+        }
+    }
+
+    private Samples measure(Function<ByteBuffer, Object> parser, Function<Object, ?> solver, ByteBuffer bytes) {
+        long deadline = System.nanoTime() + budgetNanos;
+
+        // Warmup: a fixed count, or until the median of consecutive batches settles.
+        if (mode == Mode.WARM) {
+            for (int i = 0; i < warmup && System.nanoTime() < deadline; i++) {
+                solver.apply(parser.apply(bytes));
+            }
+        } else if (mode == Mode.STEADY) {
+            long previous = -1;
+            long[] batch = new long[STEADY_BATCH];
+            while (System.nanoTime() < deadline) {
+                for (int i = 0; i < STEADY_BATCH; i++) {
+                    long t = System.nanoTime();
+                    solver.apply(parser.apply(bytes));
+                    batch[i] = System.nanoTime() - t;
+                }
+                Arrays.sort(batch);
+                long median = batch[STEADY_BATCH / 2];
+                if (previous > 0 && Math.abs(median - previous) <= STEADY_TOLERANCE * previous) break;
+                previous = median;
+            }
+        }
+
+        long[] parse = new long[iterations];
+        long[] solve = new long[iterations];
+        Object answer = null;
+        int n = 0;
+        while (n < iterations && (n == 0 || System.nanoTime() < deadline)) {
+            long t0 = System.nanoTime();
+            Object model = parser.apply(bytes);
+            long t1 = System.nanoTime();
+            answer = solver.apply(model);
+            long t2 = System.nanoTime();
+            parse[n] = t1 - t0;
+            solve[n] = t2 - t1;
+            n++;
+        }
+        return new Samples(Arrays.copyOf(parse, n), Arrays.copyOf(solve, n), answer);
+    }
+
+    /** Nearest-rank percentile of sorted samples. */
+    static long percentile(long[] sorted, int pct) {
+        int rank = (int) Math.ceil(pct / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    static String time(long nanos) {
+        if (nanos < 1_000_000) return String.format(Locale.ROOT, "%.1fus", nanos / 1e3);
+        if (nanos < 1_000_000_000) return String.format(Locale.ROOT, "%.2fms", nanos / 1e6);
+        return String.format(Locale.ROOT, "%.2fs", nanos / 1e9);
+    }
+}
@@ -0,0 +1,200 @@
+package aoc;
+
+import aoc.gen.Generators;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Measures how each solution scales: runs it on generated inputs of doubling size and
+ * fits log(time) and log(allocated bytes) against log(scale).
+ *
+ * Usage: java -cp out/common aoc.Scaling [--from S] [--to S] [--limit SECONDS]
+ *        [--max-bytes N] [--seed N] [day | day/part ...]
+ *
+ * Each puzzle starts at scale --from (default 1/16) and doubles the scale until a run
+ * takes longer than --limit (default 2 s), the next input would pass --max-bytes
+ * (default 256 MiB), the scale passes --to (default 4096), or the solution fails
+ * (out of memory, for instance). A point is the fastest of a few runs after a warm-up
+ * at the smallest size; the allocation is read from the measuring thread's
+ * com.sun.management.ThreadMXBean counter.
+ *
+ * The fit is against the generator's scale rather than the input's length, because
+ * for some days the work grows with the values rather than the lines (Day 02's ranges
+ * widen, but there are no more of them). The exponent k in time ~ scale^k comes from
+ * a least-squares fit over the points that took at least a millisecond (all of them
+ * if fewer than two did), so timer noise on tiny inputs does not flatten the curve.
+ * "1s at" extrapolates the fit to the scale whose input would take one second.
+ */
+public final class Scaling {
+
+    private static final long MIN_FIT_NANOS = 1_000_000L;
+    private static final long POINT_NANOS = 200_000_000L;
+    private static final int POINT_RUNS = 10;
+    private static final long WARMUP_NANOS = 1_000_000_000L;
+
+    private double from = 0.0625;
+    private double to = 4096;
+    private long limitNanos = 2_000_000_000L;
+    private long maxBytes = 256L << 20;
+    private long seed = Generators.DEFAULT_SEED;
+    private final List<String> selected = new ArrayList<>();
+
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private Scaling() { }
+
+    public static void main(String[] args) {
+        Scaling scaling = new Scaling();
+        scaling.parseArgs(args);
+        scaling.run();
+    }
+
+    private void parseArgs(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--from": from = Double.parseDouble(args[++i]); break;
+                case "--to": to = Double.parseDouble(args[++i]); break;
+                case "--limit": limitNanos = (long) (Double.parseDouble(args[++i]) * 1e9); break;
+                case "--max-bytes": maxBytes = Long.parseLong(args[++i]); break;
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                default:
+                    if (args[i].startsWith("--")) throw new IllegalArgumentException("Unknown option " + args[i]);
+                    selected.add(args[i]);
+            }
+        }
+    }
+
+    /** One input size. */
+    static final class Point {
+        final double scale;
+        final long bytes;
+        final long nanos;
+        final long allocated;
+
+        Point(double scale, long bytes, long nanos, long allocated) {
+            this.scale = scale;
+            this.bytes = bytes;
+            this.nanos = nanos;
+            this.allocated = allocated;
+        }
+    }
+
+    private void run() {
+        System.out.printf("seed=%d from=x%s limit=%.1fs%n%n", seed, from, limitNanos / 1e9);
+        System.out.printf("%-17s %9s %11s %9s %11s%n", "Puzzle", "scale", "input", "time", "allocated");
+
+        List<String> summary = new ArrayList<>();
+        for (Puzzles.Puzzle p : Puzzles.all()) {
+            if (!Puzzles.isSelected(selected, p)) continue;
+            List<Point> points = new ArrayList<>();
+            String stop = curve(p, points);
+            summary.add(summarize(p, points, stop));
+        }
+
+        System.out.printf("%n%-17s %6s %9s %9s %9s %9s  %s%n",
+                "Puzzle", "points", "largest", "time k", "alloc k", "1s at", "stopped by");
+        for (String line : summary) System.out.println(line);
+    }
+
+    /** Fills in the points of one puzzle's curve, and returns why it stopped. */
+    private String curve(Puzzles.Puzzle p, List<Point> points) {
+        Solver<Object> solver = Puzzles.load(p);
+        long id = Thread.currentThread().getId();
+
+        for (double scale = from; scale <= to; scale *= 2) {
+            byte[] data;
+            try {
+                data = Generators.generate(p.day, scale, seed);
+            } catch (OutOfMemoryError e) {
+                return "out of memory (generating)";
+            }
+            if (data.length > maxBytes) return "--max-bytes";
+            ByteBuffer bytes = ByteBuffer.wrap(data).asReadOnlyBuffer();
+
+            long best = Long.MAX_VALUE;
+            long allocated = Long.MAX_VALUE;
+            try {
+                if (points.isEmpty()) {
+                    long t = System.nanoTime();
+                    for (int i = 0; i < 20 && System.nanoTime() - t < WARMUP_NANOS; i++) {
+                        solver.solve(solver.parse(bytes));
+                    }
+                }
+                long spent = 0;
+                for (int run = 0; run < POINT_RUNS && (run == 0 || spent < POINT_NANOS); run++) {
+                    long a0 = threads.getThreadAllocatedBytes(id);
+                    long t0 = System.nanoTime();
+                    solver.solve(solver.parse(bytes));
+                    long t1 = System.nanoTime();
+                    long a1 = threads.getThreadAllocatedBytes(id);
+                    best = Math.min(best, t1 - t0);
+                    allocated = Math.min(allocated, a1 - a0);
+                    spent += t1 - t0;
+                }
+            } catch (OutOfMemoryError e) {
+                return "out of memory";
+            } catch (StackOverflowError e) {
+                return "stack overflow";
+            } catch (RuntimeException e) {
+                return e.toString();
+            }
+
+            Point pt = new Point(scale, data.length, best, allocated);
+            points.add(pt);
+            System.out.printf("%-17s %9s %11s %9s %11s%n", p.name(), "x" + scale,
+                    Allocations.bytes(pt.bytes), Runner.time(pt.nanos), Allocations.bytes(pt.allocated));
+
+            if (best > limitNanos) return "--limit";
+            if (2L * data.length > maxBytes) return "--max-bytes";
+        }
+        return "--to";
+    }
+
+    private static String summarize(Puzzles.Puzzle p, List<Point> points, String stop) {
+        if (points.size() < 2) {
+            return String.format(Locale.ROOT, "%-17s %6d %9s %9s %9s %9s  %s", p.name(), points.size(),
+                    points.isEmpty() ? "-" : "x" + points.get(0).scale, "-", "-", "-", stop);
+        }
+
+        List<Point> fitted = new ArrayList<>();
+        for (Point pt : points) if (pt.nanos >= MIN_FIT_NANOS) fitted.add(pt);
+        if (fitted.size() < 2) fitted = points;
+
+        double[] time = fit(fitted, true);
+        double[] alloc = fit(points, false);
+
+        // The scale that would take one second, by the time fit
+        Point last = points.get(points.size() - 1);
+        double oneSecondScale = Math.exp((Math.log(1e9) - time[0]) / time[1]);
+
+        return String.format(Locale.ROOT, "%-17s %6d %9s %9.2f %9.2f %9s  %s", p.name(), points.size(),
+                "x" + last.scale, time[1], alloc[1],
+                time[1] > 0.05 ? String.format(Locale.ROOT, "x%.3g", oneSecondScale) : "-", stop);
+    }
+
+    /** Least-squares {intercept, slope} of log(time or allocation) against log(scale). */
+    private static double[] fit(List<Point> points, boolean time) {
+        int n = 0;
+        double sx = 0, sy = 0, sxx = 0, sxy = 0;
+        for (Point pt : points) {
+            long y = time ? pt.nanos : pt.allocated;
+            if (y <= 0) continue;
+            double lx = Math.log(pt.scale);
+            double ly = Math.log(y);
+            sx += lx;
+            sy += ly;
+            sxx += lx * lx;
+            sxy += lx * ly;
+            n++;
+        }
+        double denominator = n * sxx - sx * sx;
+        if (n < 2 || denominator == 0) return new double[]{0, 0};
+        double slope = (n * sxy - sx * sy) / denominator;
+        return new double[]{(sy - slope * sx) / n, slope};
+    }
+}
@@ -0,0 +1,36 @@
+package aoc;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A puzzle solution split into its two phases, so the phases can be timed and
+ * repeated on their own.
+ *
+ * parse() turns the raw input into a model of type M and solve() computes the
+ * answer from it. solve() must leave the model unchanged, so one parsed model
+ * can be solved any number of times.
+ *
+ * parse() reads the buffer between its position and limit without moving either,
+ * so one buffer can be parsed by several threads at once.
+ *
+ * Implementations keep no static mutable state. An instance may hold scratch state
+ * while it works, so it is confined to one thread at a time, but it can be reused
+ * for any number of inputs and drops its per-input data when solve() returns. To
+ * work in parallel, give each thread its own instance (see {@link Puzzles#load}).
+ */
+public interface Solver<M> {
+
+    M parse(ByteBuffer input);
+
+    /** The answer: a Long, or a BigInteger where it can outgrow a long. */
+    Number solve(M model);
+
+    /**
+     * Standard main(): parse the input named by args (or stdin) and print the answer.
+     * A leading "--stats" argument turns on the {@link Stats} report.
+     */
+    static <M> void run(Solver<M> solver, String[] args) throws IOException {
+        System.out.println(solver.solve(solver.parse(Input.read(Stats.takeFlag(args)))));
+    }
+}
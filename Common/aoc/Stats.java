@@ -0,0 +1,70 @@
+package aoc;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Algorithmic counters reported by the solutions (search nodes, memo hits, checks
+ * made), printed as one JSON object per solve() on stderr:
+ *
+ *   {"puzzle":"Day 12/Puzzle 01","dfsNodes":48213,"fitsCalls":3921877,"memoHits":112}
+ *
+ * Reporting is off unless -Daoc.stats=true is set, "--stats" is passed to a solution's
+ * main(), or a tool such as {@link Runner} turns it on. The solutions count in plain
+ * locals or fields either way, and only build the report when it is on:
+ *
+ *   if (Stats.enabled()) Stats.report(PUZZLE).put("memoHits", memoHits).emit();
+ */
+public final class Stats {
+
+    private static volatile boolean enabled = Boolean.getBoolean("aoc.stats");
+
+    private Stats() { }
+
+    public static boolean enabled() {
+        return enabled;
+    }
+
+    public static void enable(boolean on) {
+        enabled = on;
+    }
+
+    /** Turns reporting on if args start with "--stats", and returns the args after it. */
+    static String[] takeFlag(String[] args) {
+        if (args.length == 0 || !args[0].equals("--stats")) return args;
+        enable(true);
+        return Arrays.copyOfRange(args, 1, args.length);
+    }
+
+    public static Report report(String puzzle) {
+        return new Report(puzzle);
+    }
+
+    /** One solve()'s counters, in the order they are put. */
+    public static final class Report {
+        private final StringBuilder json = new StringBuilder(128);
+
+        private Report(String puzzle) {
+            json.append("{\"puzzle\":\"").append(puzzle).append('"');
+        }
+
+        public Report put(String name, long value) {
+            json.append(",\"").append(name).append("\":").append(value);
+            return this;
+        }
+
+        /** A ratio such as a hit rate; 0 when there was nothing to divide. */
+        public Report ratio(String name, long numerator, long denominator) {
+            double r = denominator == 0 ? 0 : (double) numerator / denominator;
+            json.append(",\"").append(name).append("\":").append(String.format(Locale.ROOT, "%.4f", r));
+            return this;
+        }
+
+        public void emit() {
+            String line = json.append('}').toString();
+            synchronized (System.err) {
+                System.err.println(line);
+            }
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package aoc.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.SplittableRandom;
+
+/** Dial rotations: 4,492 per unit of scale, one in a hundred spinning up to 10^6 clicks. */
+public final class Day01Generator implements Generator {
+
+    @Override
+    public void generate(double scale, SplittableRandom rnd, Writer out) throws IOException {
+        int rotations = Generator.scaled(4492, scale);
+        for (int i = 0; i < rotations; i++) {
+            int distance = rnd.nextInt(100) == 0 ? rnd.nextInt(1, 1_000_000) : rnd.nextInt(1, 1000);
+            out.write(rnd.nextBoolean() ? 'L' : 'R');
+            out.write(Integer.toString(distance));
+            out.write('\n');
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package aoc.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.SplittableRandom;
+
+/** One line of 36 ID ranges per unit of scale, with 1- to 12-digit bounds and widths up to 200,000. */
+public final class Day02Generator implements Generator {
+
+    @Override
+    public void generate(double scale, SplittableRandom rnd, Writer out) throws IOException {
+        int ranges = Generator.scaled(36, scale);
+        for (int i = 0; i < ranges; i++) {
+            int digits = rnd.nextInt(1, 13);
+            long start = rnd.nextLong(digits == 1 ? 1 : pow10(digits - 1), pow10(digits));
+            long end = start + rnd.nextLong(200_000);
+            if (i > 0) out.write(',');
+            out.write(start + "-" + end);
+        }
+        out.write('\n');
+    }
+
+    private static long pow10(int k) {
+        long p = 1;
+        for (int i = 0; i < k; i++) p *= 10;
+        return p;
+    }
+}
@@ -0,0 +1,31 @@
+package aoc.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.SplittableRandom;
+
+/**
+ * 200 banks of 100 digits (1-9) per unit of scale. The digits follow the real
+ * input's skew: 2 is the most common and high digits are rare, so the best
+ * joltages are not simply runs of nines.
+ */
+public final class Day03Generator implements Generator {
+    // Cumulative per-mille frequency of the digits 1..9 in the real input.
+    private static final int[] CUMULATIVE = {81, 390, 619, 773, 873, 930, 966, 988, 1000};
+
+    @Override
+    public void generate(double scale, SplittableRandom rnd, Writer out) throws IOException {
+        int banks = Generator.scaled(200, scale);
+        char[] bank = new char[100];
+        for (int i = 0; i < banks; i++) {
+            for (int j = 0; j < bank.length; j++) {
+                int r = rnd.nextInt(1000);
+                int d = 0;
+                while (r >= CUMULATIVE[d]) d++;
+                bank[j] = (char) ('1' + d);
+            }
+            out.write(bank);
+            out.write('\n');
+        }
+    }
+}
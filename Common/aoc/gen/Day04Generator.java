@@ -0,0 +1,20 @@
+package aoc.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.SplittableRandom;
+
+/** A square grid holding scale times the 137x137 cells, about two thirds of them rolls ('@'). */
+public final class Day04Generator implements Generator {
+
+    @Override
+    public void generate(double scale, SplittableRandom rnd, Writer out) throws IOException {
+        int side = (int) Math.max(1, Math.round(137 * Math.sqrt(scale)));
+        char[] row = new char[side];
+        for (int r = 0; r < side; r++) {
+            for (int c = 0; c < side; c++) row[c] = rnd.nextInt(100) < 66 ? '@' : '.';
+            out.write(row);
+            out.write('\n');
+        }
+    }
+}
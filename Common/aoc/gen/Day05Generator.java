@@ -0,0 +1,37 @@
+package aoc.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.SplittableRandom;
+
+/**
+ * 184 fresh ranges and 1,000 ingredient IDs per unit of scale, all below 5.6 * 10^14.
+ * Ranges cluster around a handful of centres so that many of them overlap, and
+ * get narrower as the scale grows so the share of fresh IDs stays about the same.
+ */
+public final class Day05Generator implements Generator {
+    private static final long MAX_ID = 560_000_000_000_000L;
+
+    @Override
+    public void generate(double scale, SplittableRandom rnd, Writer out) throws IOException {
+        int ranges = Generator.scaled(184, scale);
+        int ids = Generator.scaled(1000, scale);
+
+        long spread = (long) (20_000_000_000_000L / scale);
+        long width = (long) (10_000_000_000_000L / scale);
+        long[] centres = new long[Math.max(1, ranges / 8)];
+        for (int i = 0; i < centres.length; i++) centres[i] = rnd.nextLong(MAX_ID);
+
+        for (int i = 0; i < ranges; i++) {
+            long centre = centres[rnd.nextInt(centres.length)];
+            long start = Math.max(1, centre + rnd.nextLong(-spread, spread + 1));
+            long end = Math.min(MAX_ID, start + rnd.nextLong(width + 1));
+            out.write(start + "-" + Math.max(start, end) + "\n");
+        }
+        out.write('\n');
+        for (int i = 0; i < ids; i++) {
+            out.write(Long.toString(rnd.nextLong(1, MAX_ID)));
+            out.write('\n');
+        }
+    }
+}
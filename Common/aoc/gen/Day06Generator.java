@@ -0,0 +1,52 @@
+package aoc.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.SplittableRandom;
+
+/**
+ * 1,000 worksheet problems per unit of scale: four rows of 1- to 4-digit numbers
+ * and a row of operators, one problem per column block. Within a problem the
+ * numbers are either all left- or all right-aligned, as in the real input.
+ */
+public final class Day06Generator implements Generator {
+    private static final int ROWS = 4;
+
+    @Override
+    public void generate(double scale, SplittableRandom rnd, Writer out) throws IOException {
+        int problems = Generator.scaled(1000, scale);
+        StringBuilder[] lines = new StringBuilder[ROWS + 1];
+        for (int r = 0; r < lines.length; r++) lines[r] = new StringBuilder(problems * 5);
+
+        String[] numbers = new String[ROWS];
+        for (int p = 0; p < problems; p++) {
+            int width = rnd.nextInt(1, 5);
+            for (int r = 0; r < ROWS; r++) {
+                int digits = r == 0 ? width : rnd.nextInt(1, width + 1);
+                numbers[r] = Integer.toString(rnd.nextInt(digits == 1 ? 1 : pow10(digits - 1), pow10(digits)));
+            }
+            boolean left = rnd.nextBoolean();
+            for (int r = 0; r < ROWS; r++) {
+                if (p > 0) lines[r].append(' ');
+                pad(lines[r], numbers[r], width, left);
+            }
+            if (p > 0) lines[ROWS].append(' ');
+            pad(lines[ROWS], rnd.nextBoolean() ? "*" : "+", width, true);
+        }
+        for (StringBuilder line : lines) {
+            out.append(line).append('\n');
+        }
+    }
+
+    private static void pad(StringBuilder sb, String s, int width, boolean left) {
+        if (!left) sb.append(" ".repeat(width - s.length()));
+        sb.append(s);
+        if (left) sb.append(" ".repeat(width - s.length()));
+    }
+
+    private static int pow10(int k) {
+        int p = 1;
+        for (int i = 0; i < k; i++) p *= 10;
+        return p;
+    }
+}
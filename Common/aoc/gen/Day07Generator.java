@@ -0,0 +1,59 @@
+package aoc.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * A tachyon manifold holding scale times the 142x141 cells. The start 'S' sits at
+ * the top centre and splitters ('^') fill a triangle widening by one column each
+ * way every two rows, on alternating columns, with about three in ten left out
+ * below the first few rows.
+ *
+ * The number of timelines (Part 2) grows exponentially with the height. To keep it
+ * within a long, the generator follows the timelines down as it places splitters and
+ * leaves out any splitter whose extra timelines would take the total past
+ * MAX_TIMELINES. Scales small enough never to reach that give the same input as before.
+ */
+public final class Day07Generator implements Generator {
+
+    private static final long MAX_TIMELINES = Long.MAX_VALUE;
+
+    @Override
+    public void generate(double scale, SplittableRandom rnd, Writer out) throws IOException {
+        int rows = 2 * (int) Math.max(1, Math.round(71 * Math.sqrt(scale)));
+        int cols = rows - 1;
+        int centre = cols / 2;
+
+        char[] row = new char[cols];
+        // Timelines per column of the row just written, and in all
+        long[] beams = new long[cols];
+        long timelines = 1;
+        beams[centre] = 1;
+
+        for (int r = 0; r < rows; r++) {
+            Arrays.fill(row, '.');
+            if (r == 0) {
+                row[centre] = 'S';
+            } else if (r % 2 == 0) {
+                int level = r / 2;
+                for (int c = centre - (level - 1); c <= centre + (level - 1); c += 2) {
+                    if (c >= 0 && c < cols && (level <= 5 || rnd.nextInt(10) < 7)
+                            && beams[c] <= MAX_TIMELINES - timelines) {
+                        // Splitters sit two columns apart, so the beams either side of
+                        // this one are not splitters in the same row
+                        row[c] = '^';
+                        long split = beams[c];
+                        timelines += split;
+                        beams[c] = 0;
+                        if (c > 0) beams[c - 1] += split;
+                        if (c + 1 < cols) beams[c + 1] += split;
+                    }
+                }
+            }
+            out.write(row);
+            out.write('\n');
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package aoc.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.SplittableRandom;
+
+/** 1,000 junction boxes per unit of scale, at uniform coordinates in [0, 100,000). */
+public final class Day08Generator implements Generator {
+
+    @Override
+    public void generate(double scale, SplittableRandom rnd, Writer out) throws IOException {
+        int boxes = Generator.scaled(1000, scale);
+        for (int i = 0; i < boxes; i++) {
+            out.write(rnd.nextInt(100_000) + "," + rnd.nextInt(100_000) + "," + rnd.nextInt(100_000) + "\n");
+        }
+    }
+}
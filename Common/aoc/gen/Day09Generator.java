@@ -0,0 +1,78 @@
+package aoc.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * A closed loop of red tiles with about 496 corners per unit of scale, shaped like
+ * the real input: a rough circle traced as a staircase, with a thin notch cut in
+ * from the left, across the centre line, almost to the right-hand side.
+ *
+ * Points are taken at random angles around the circle (radius jittered by 1%) and
+ * joined by a vertical then a horizontal step. Within each quadrant both coordinates
+ * move monotonically, which keeps the loop simple. The radius grows beyond the real
+ * 48,000 when the quadrants need more room for distinct coordinates.
+ */
+public final class Day09Generator implements Generator {
+    private static final double NOTCH_ANGLE = 0.02;
+
+    @Override
+    public void generate(double scale, SplittableRandom rnd, Writer out) throws IOException {
+        int perQuadrant = Math.max(2, (Generator.scaled(496, scale) - 4) / 8);
+        int radius = Math.max(48_000, 8 * perQuadrant);
+        int centre = radius + 2_000;
+        int notch = (int) (radius * Math.sin(NOTCH_ANGLE) / 3);
+
+        // Points on the circle, counter-clockwise from the right-hand side.
+        int[] px = new int[4 * perQuadrant];
+        int[] py = new int[4 * perQuadrant];
+        int[] quadrantStart = new int[5];
+        int n = 0;
+        for (int q = 0; q < 4; q++) {
+            quadrantStart[q] = n;
+            double from = q * Math.PI / 2 + (q == 2 ? NOTCH_ANGLE : 0);
+            double to = (q + 1) * Math.PI / 2 - (q == 1 ? NOTCH_ANGLE : 0);
+            double[] angles = new double[perQuadrant];
+            for (int i = 0; i < perQuadrant; i++) angles[i] = rnd.nextDouble(from, to);
+            Arrays.sort(angles);
+
+            int dx = q < 2 ? -1 : 1;
+            int dy = q == 0 || q == 3 ? 1 : -1;
+            for (double a : angles) {
+                double r = radius * rnd.nextDouble(0.99, 1.01);
+                int x = (int) Math.round(centre + r * Math.cos(a));
+                int y = (int) Math.round(centre + r * Math.sin(a));
+                if (n > 0 && (x == px[n - 1] || y == py[n - 1])) continue;
+                if (n > quadrantStart[q] && (Integer.signum(x - px[n - 1]) != dx || Integer.signum(y - py[n - 1]) != dy)) {
+                    continue;
+                }
+                px[n] = x;
+                py[n] = y;
+                n++;
+            }
+        }
+        quadrantStart[4] = n;
+        while (px[n - 1] == px[0] || py[n - 1] == py[0]) n--;
+
+        for (int i = 0; i < n; i++) {
+            if (i == quadrantStart[2]) {
+                // The notch: across to the right above the centre line, back below it.
+                int tip = (int) (centre + 0.94 * radius);
+                corner(out, px[i - 1], centre + notch);
+                corner(out, tip, centre + notch);
+                corner(out, tip, centre - notch);
+                corner(out, px[i], centre - notch);
+            } else if (i > 0) {
+                corner(out, px[i - 1], py[i]);
+            }
+            corner(out, px[i], py[i]);
+        }
+        corner(out, px[n - 1], py[0]);
+    }
+
+    private static void corner(Writer out, int x, int y) throws IOException {
+        out.write(x + "," + y + "\n");
+    }
+}
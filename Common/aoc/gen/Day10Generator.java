@@ -0,0 +1,99 @@
+package aoc.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * 171 machines per unit of scale, each with 4-10 lights and between two fewer and
+ * three more buttons than lights, as in the real input. The wide variant (see
+ * {@link #wide()}) gives every machine 20-24 buttons and one to three fewer lights,
+ * which makes Part 1 try millions of button subsets per machine and leaves Part 2
+ * several free press counts to search.
+ *
+ * Both targets are built from the buttons so every machine is solvable: the light
+ * pattern is the XOR of a random subset of buttons, and the joltage of each counter
+ * is the sum over buttons of a random press count times whether the button wires it.
+ */
+public final class Day10Generator implements Generator {
+
+    private final boolean wide;
+
+    public Day10Generator() {
+        this(false);
+    }
+
+    private Day10Generator(boolean wide) {
+        this.wide = wide;
+    }
+
+    /** Machines with 20 or more buttons each, to stress Part 2. */
+    public static Day10Generator wide() {
+        return new Day10Generator(true);
+    }
+
+    @Override
+    public void generate(double scale, SplittableRandom rnd, Writer out) throws IOException {
+        int machines = Generator.scaled(171, scale);
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < machines; i++) {
+            int buttons = wide ? rnd.nextInt(20, 25) : 0;
+            int lights = wide ? buttons - rnd.nextInt(1, 4) : rnd.nextInt(4, 11);
+            if (!wide) buttons = Math.max(2, lights + rnd.nextInt(-2, 4));
+
+            // Distinct buttons that between them wire every light.
+            boolean[][] wired = new boolean[buttons][lights];
+            Set<String> distinct = new HashSet<>();
+            for (boolean[] w : wired) {
+                do {
+                    Arrays.fill(w, false);
+                    int size = rnd.nextInt(1, Math.min(lights, 8) + 1);
+                    for (int k = 0; k < size; k++) w[rnd.nextInt(lights)] = true;
+                } while (!distinct.add(Arrays.toString(w)));
+            }
+            for (int l = 0; l < lights; l++) {
+                boolean covered = false;
+                for (boolean[] w : wired) covered |= w[l];
+                if (!covered) wired[rnd.nextInt(buttons)][l] = true;
+            }
+
+            boolean[] on = new boolean[lights];
+            int[] joltage = new int[lights];
+            for (int b = 0; b < buttons; b++) {
+                boolean toggle = rnd.nextBoolean();
+                int presses = rnd.nextInt(0, 30);
+                for (int l = 0; l < lights; l++) {
+                    if (!wired[b][l]) continue;
+                    if (toggle) on[l] = !on[l];
+                    joltage[l] += presses;
+                }
+            }
+
+            line.setLength(0);
+            line.append('[');
+            for (boolean b : on) line.append(b ? '#' : '.');
+            line.append(']');
+            for (boolean[] w : wired) {
+                line.append(" (");
+                boolean first = true;
+                for (int l = 0; l < lights; l++) {
+                    if (!w[l]) continue;
+                    if (!first) line.append(',');
+                    line.append(l);
+                    first = false;
+                }
+                line.append(')');
+            }
+            line.append(" {");
+            for (int l = 0; l < lights; l++) {
+                if (l > 0) line.append(',');
+                line.append(joltage[l]);
+            }
+            line.append("}\n");
+            out.append(line);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package aoc.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+/**
+ * A device graph with 595 devices per unit of scale, wired as a DAG that drains into "out".
+ *
+ * Devices sit in 24 layers and only feed the next two layers, so the depth (and the
+ * recursion of the path-counting solvers) stays fixed while the width grows with the
+ * scale. "svr" is in the first layer, "you" a third of the way down, and "dac" and
+ * "fft" in the middle. Out-degrees are 1 plus a geometric tail, capped at 23. One
+ * device per layer is chained to the next from "svr" through "dac" to "fft", so a
+ * path visiting both always exists.
+ */
+public final class Day11Generator implements Generator {
+    private static final int LAYERS = 24;
+    private static final Set<String> RESERVED = Set.of("you", "svr", "out", "dac", "fft");
+
+    @Override
+    public void generate(double scale, SplittableRandom rnd, Writer out) throws IOException {
+        int devices = Math.max(LAYERS, Generator.scaled(595, scale));
+        int nameLength = 3;
+        while (Math.pow(26, nameLength) < 4.0 * devices) nameLength++;
+
+        List<List<String>> layers = new ArrayList<>();
+        for (int l = 0; l < LAYERS; l++) layers.add(new ArrayList<>());
+        layers.get(0).add("svr");
+        layers.get(LAYERS / 3).add("you");
+        layers.get(LAYERS / 2 - 2).add("dac");
+        layers.get(LAYERS / 2 + 2).add("fft");
+        int chainEnd = LAYERS / 2 + 2;
+
+        Set<String> used = new HashSet<>(RESERVED);
+        char[] name = new char[nameLength];
+        for (int i = 4; i < devices; i++) {
+            String n;
+            do {
+                for (int k = 0; k < nameLength; k++) name[k] = (char) ('a' + rnd.nextInt(26));
+                n = new String(name);
+            } while (!used.add(n));
+            layers.get(i - 4 < LAYERS ? i - 4 : rnd.nextInt(LAYERS)).add(n);
+        }
+
+        // The chain runs through the first device of each layer; dac and fft head theirs.
+        Collections.swap(layers.get(LAYERS / 2 - 2), 0, layers.get(LAYERS / 2 - 2).indexOf("dac"));
+        Collections.swap(layers.get(chainEnd), 0, layers.get(chainEnd).indexOf("fft"));
+
+        StringBuilder line = new StringBuilder();
+        Set<String> targets = new LinkedHashSet<>();
+        for (int l = 0; l < LAYERS; l++) {
+            List<String> layer = layers.get(l);
+            for (int i = 0; i < layer.size(); i++) {
+                targets.clear();
+                if (i == 0 && l < chainEnd) targets.add(layers.get(l + 1).get(0));
+                if (l == LAYERS - 1) {
+                    targets.add("out");
+                } else {
+                    int degree = 1 + Math.min(22, (int) (-Math.log(1 - rnd.nextDouble()) * 1.85));
+                    for (int d = 0; d < degree; d++) {
+                        List<String> next = layers.get(l + 1 + (l + 2 < LAYERS && rnd.nextInt(4) == 0 ? 1 : 0));
+                        targets.add(next.get(rnd.nextInt(next.size())));
+                    }
+                }
+                line.setLength(0);
+                line.append(layer.get(i)).append(':');
+                for (String t : targets) line.append(' ').append(t);
+                out.append(line).append('\n');
+            }
+        }
+    }
+}
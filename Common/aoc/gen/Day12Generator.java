@@ -0,0 +1,66 @@
+package aoc.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Six 3x3 present shapes and 1,000 regions per unit of scale.
+ *
+ * Each shape has 5-7 cells, including a full bottom row. Regions are 35-50 cells
+ * a side. As in the real input, about half of them get 90-100% of the presents
+ * that fit side by side in whole 3x3 blocks, and the rest get slightly more
+ * present cells than the region has, so they fail the area check.
+ */
+public final class Day12Generator implements Generator {
+    private static final int SHAPES = 6;
+
+    @Override
+    public void generate(double scale, SplittableRandom rnd, Writer out) throws IOException {
+        int[] area = new int[SHAPES];
+        for (int s = 0; s < SHAPES; s++) {
+            boolean[] cells = new boolean[9];
+            for (int c = 6; c < 9; c++) cells[c] = true;
+            area[s] = rnd.nextInt(5, 8);
+            for (int placed = 3; placed < area[s]; ) {
+                int c = rnd.nextInt(6);
+                if (!cells[c]) {
+                    cells[c] = true;
+                    placed++;
+                }
+            }
+            out.write(s + ":\n");
+            for (int r = 0; r < 3; r++) {
+                for (int c = 0; c < 3; c++) out.write(cells[r * 3 + c] ? '#' : '.');
+                out.write('\n');
+            }
+            out.write('\n');
+        }
+
+        int regions = Generator.scaled(1000, scale);
+        int[] counts = new int[SHAPES];
+        for (int i = 0; i < regions; i++) {
+            int w = rnd.nextInt(35, 51);
+            int h = rnd.nextInt(35, 51);
+            Arrays.fill(counts, 0);
+            if (rnd.nextBoolean()) {
+                int blocks = (w / 3) * (h / 3);
+                int presents = blocks - rnd.nextInt(blocks / 10 + 1);
+                for (int p = 0; p < presents; p++) counts[rnd.nextInt(SHAPES)]++;
+            } else {
+                int cells = 0;
+                int excess = rnd.nextInt(1, w * h / 20 + 2);
+                while (cells <= w * h + excess) {
+                    int s = rnd.nextInt(SHAPES);
+                    counts[s]++;
+                    cells += area[s];
+                }
+            }
+
+            out.write(w + "x" + h + ":");
+            for (int c : counts) out.write(" " + c);
+            out.write('\n');
+        }
+    }
+}
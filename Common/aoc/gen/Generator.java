@@ -0,0 +1,22 @@
+package aoc.gen;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.SplittableRandom;
+
+/**
+ * Writes a synthetic input for one day, shaped like the committed input.txt but
+ * about scale times as large. The same scale and random seed always give the same
+ * bytes, and the output is valid for both parts of the day.
+ */
+public interface Generator {
+
+    void generate(double scale, SplittableRandom rnd, Writer out) throws IOException;
+
+    /** base * scale, rounded, but at least 1. */
+    static int scaled(int base, double scale) {
+        long n = Math.round(base * scale);
+        if (n > Integer.MAX_VALUE) throw new IllegalArgumentException("Scale too large: " + scale);
+        return (int) Math.max(1, n);
+    }
+}
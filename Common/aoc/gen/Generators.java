@@ -0,0 +1,103 @@
+package aoc.gen;
+
+import aoc.Puzzles;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+/**
+ * Synthetic inputs for scaling experiments, one generator per day.
+ *
+ * Usage: java -cp out/common aoc.gen.Generators [--seed N] [--out DIR] [--wide] day|all scale
+ *
+ * --wide selects the wide variant of Day 10, machines with 20 or more buttons
+ * (see {@link Day10Generator#wide()}); no other day has a variant.
+ *
+ * Without --out the input is written to stdout. With --out it is written as
+ * "DIR/Day NN/Puzzle PP/input.txt" for every part of the day, the same layout as
+ * the repository, so DIR can be handed to the benchmarks as their input root.
+ */
+public final class Generators {
+
+    /** The seed used when none is given, so a scale names one fixed input. */
+    public static final long DEFAULT_SEED = 2025;
+
+    private static final Generator[] DAYS = {
+            new Day01Generator(), new Day02Generator(), new Day03Generator(), new Day04Generator(),
+            new Day05Generator(), new Day06Generator(), new Day07Generator(), new Day08Generator(),
+            new Day09Generator(), new Day10Generator(), new Day11Generator(), new Day12Generator(),
+    };
+
+    private Generators() { }
+
+    public static Generator forDay(int day) {
+        if (day < 1 || day > DAYS.length) throw new IllegalArgumentException("No generator for day " + day);
+        return DAYS[day - 1];
+    }
+
+    public static byte[] generate(int day, double scale, long seed) {
+        return generate(forDay(day), scale, seed);
+    }
+
+    public static byte[] generate(Generator generator, double scale, long seed) {
+        if (!(scale > 0)) throw new IllegalArgumentException("Scale must be positive: " + scale);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (Writer out = new OutputStreamWriter(bytes, StandardCharsets.US_ASCII)) {
+            generator.generate(scale, new SplittableRandom(seed), out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static void main(String[] args) throws IOException {
+        long seed = DEFAULT_SEED;
+        Path dir = null;
+        String day = null;
+        Double scale = null;
+        boolean wide = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--seed": seed = Long.parseLong(args[++i]); break;
+                case "--out": dir = Path.of(args[++i]); break;
+                case "--wide": wide = true; break;
+                default:
+                    if (args[i].startsWith("--")) throw new IllegalArgumentException("Unknown option " + args[i]);
+                    if (day == null) day = args[i];
+                    else scale = Double.parseDouble(args[i]);
+            }
+        }
+        if (day == null || scale == null) {
+            System.err.println("Usage: aoc.gen.Generators [--seed N] [--out DIR] [--wide] day|all scale");
+            System.exit(2);
+        }
+
+        int from = day.equals("all") ? 1 : Integer.parseInt(day);
+        int to = day.equals("all") ? DAYS.length : from;
+        if (dir == null && from != to) throw new IllegalArgumentException("Writing every day needs --out DIR");
+        if (wide && (from != 10 || to != 10)) throw new IllegalArgumentException("--wide is only for day 10");
+
+        for (int d = from; d <= to; d++) {
+            byte[] input = generate(wide ? Day10Generator.wide() : forDay(d), scale, seed);
+            if (dir == null) {
+                System.out.write(input);
+                System.out.flush();
+                continue;
+            }
+            for (Puzzles.Puzzle p : Puzzles.all()) {
+                if (p.day != d) continue;
+                Path file = dir.resolve(String.format("Day %02d/Puzzle %02d/input.txt", p.day, p.part));
+                Files.createDirectories(file.getParent());
+                Files.write(file, input);
+                System.err.printf("%s: %,d bytes%n", file, input.length);
+            }
+        }
+    }
+}
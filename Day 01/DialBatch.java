@@ -0,0 +1,201 @@
+import aoc.Input;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Simulates many independent dials at once, each with its own modulus, start position
+// and rotation stream, and counts for every dial the rotations that end on 0 (as in
+// Part 1) and the clicks that pass 0 (as in Part 2).
+//
+// The input is a sequence of dials: a line "MODULUS START" begins a dial and the L/R
+// lines after it are its rotations. The Day 01 input with "100 50" on top is one dial.
+//
+// Everything is kept as parallel primitive arrays indexed by dial, and all rotation
+// streams share one int[], so a dial's rotations are contiguous and the dials are
+// walked in order. Runs of dials are split across the common ForkJoinPool by their
+// number of rotations, so a few long streams do not leave the other threads idle.
+//
+// Usage: java DialBatch [--totals] [input.txt]
+// Prints "position landings crossings" per dial in input order, or with --totals the
+// number of dials and the sums of the counts.
+public final class DialBatch {
+    // A run of dials with no more rotations than this is simulated by one task
+    private static final int LEAF_ROTATIONS = 1 << 16;
+
+    // Dial d: modulus[d], start[d], and rotations[first[d]] .. rotations[first[d + 1] - 1]
+    private int dials;
+    private int[] modulus = new int[256];
+    private int[] start = new int[256];
+    private int[] first = new int[257];
+    private int[] rotations = new int[1024];
+    private int rotationCount;
+
+    // Results per dial, filled in by run()
+    private int[] position;
+    private long[] landings;
+    private long[] crossings;
+
+    public static void main(String[] args) throws IOException {
+        boolean totals = args.length > 0 && args[0].equals("--totals");
+        String[] rest = totals ? Arrays.copyOfRange(args, 1, args.length) : args;
+
+        DialBatch batch = parse(Input.read(rest));
+        batch.run();
+
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out), 1 << 16);
+        if (totals) {
+            long landed = 0, crossed = 0;
+            for (int d = 0; d < batch.dials; d++) {
+                landed += batch.landings[d];
+                crossed += batch.crossings[d];
+            }
+            out.write(batch.dials + " " + landed + " " + crossed + "\n");
+        } else {
+            StringBuilder line = new StringBuilder();
+            for (int d = 0; d < batch.dials; d++) {
+                line.setLength(0);
+                line.append(batch.position[d]).append(' ')
+                        .append(batch.landings[d]).append(' ')
+                        .append(batch.crossings[d]).append('\n');
+                out.append(line);
+            }
+        }
+        out.flush();
+    }
+
+    public static DialBatch parse(ByteBuffer buffer) {
+        Input input = new Input(buffer);
+        DialBatch batch = new DialBatch();
+
+        // hasNext() skips empty lines
+        while (input.hasNext()) {
+            if (input.atDigit()) {
+                batch.addDial(input.nextInt(), input.nextInt());
+            } else {
+                byte direction = input.next();
+                int distance = input.nextInt();
+                batch.addRotation(direction == 'L' ? -distance : direction == 'R' ? distance : 0);
+            }
+        }
+        return batch;
+    }
+
+    public void addDial(int m, int s) {
+        if (m <= 0 || s < 0 || s >= m) {
+            throw new IllegalArgumentException("Dial " + dials + ": start " + s + " is not a position on a dial of " + m);
+        }
+        if (dials == modulus.length) {
+            modulus = Arrays.copyOf(modulus, dials * 2);
+            start = Arrays.copyOf(start, dials * 2);
+            first = Arrays.copyOf(first, dials * 2 + 1);
+        }
+        modulus[dials] = m;
+        start[dials] = s;
+        dials++;
+        first[dials] = rotationCount;
+    }
+
+    // Add a rotation (L is negative, R is positive) to the last dial added
+    public void addRotation(int rotation) {
+        if (dials == 0) {
+            throw new IllegalArgumentException("Rotation before the first dial");
+        }
+        if (rotationCount == rotations.length) {
+            rotations = Arrays.copyOf(rotations, rotationCount * 2);
+        }
+        rotations[rotationCount++] = rotation;
+        first[dials] = rotationCount;
+    }
+
+    public int dials() {
+        return dials;
+    }
+
+    // Simulate every dial; the results are then available per dial
+    public void run() {
+        position = new int[dials];
+        landings = new long[dials];
+        crossings = new long[dials];
+        ForkJoinPool.commonPool().invoke(new Run(0, dials));
+    }
+
+    public int position(int dial) {
+        return position[dial];
+    }
+
+    public long landings(int dial) {
+        return landings[dial];
+    }
+
+    public long crossings(int dial) {
+        return crossings[dial];
+    }
+
+    // Simulate dials from..to-1 in order
+    private void simulate(int from, int to) {
+        for (int d = from; d < to; d++) {
+            int m = modulus[d];
+            int p = start[d];
+            long landed = 0;
+            long crossed = 0;
+
+            for (int i = first[d], end = first[d + 1]; i < end; i++) {
+                int rotation = rotations[i];
+                if (rotation < 0) {
+                    crossed += countZeroCrossingsLeft(p, -(long) rotation, m);
+                } else {
+                    crossed += countZeroCrossingsRight(p, rotation, m);
+                }
+                p = Math.floorMod(p + (long) rotation, m);
+                if (p == 0) {
+                    landed++;
+                }
+            }
+
+            position[d] = p;
+            landings[d] = landed;
+            crossings[d] = crossed;
+        }
+    }
+
+    // Count how many times we pass through 0 when rotating LEFT on a dial of m positions
+    private static long countZeroCrossingsLeft(int position, long distance, int m) {
+        // Turning left from position is turning right from its mirror image (m - position)
+        // mod m, and mirroring keeps 0 where it is
+        int mirrored = position == 0 ? 0 : m - position;
+        return countZeroCrossingsRight(mirrored, distance, m);
+    }
+
+    // Count how many times we pass through 0 when rotating RIGHT on a dial of m positions
+    private static long countZeroCrossingsRight(int position, long distance, int m) {
+        // We pass through 0 at every multiple of m in (position, position + distance]
+        return (position + distance) / m;
+    }
+
+    // Dials from..to-1, halved by dial count until a half has few enough rotations
+    @SuppressWarnings("serial")
+    private final class Run extends RecursiveAction {
+        private final int from, to;
+
+        Run(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= 1 || first[to] - first[from] <= LEAF_ROTATIONS) {
+                simulate(from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new Run(from, mid), new Run(mid, to));
+        }
+    }
+}
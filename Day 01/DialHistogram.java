@@ -0,0 +1,127 @@
+import aoc.Input;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// How often the dial points at each position over the whole rotation log: every click
+// moves the dial one position and visits the position it arrives at. The count for 0
+// is the Part 2 answer.
+//
+// Stepping every click costs the sum of all distances. Instead each rotation is split
+// into full laps, which visit every position once each and only add to a shared lap
+// count, and a partial arc of fewer than MODULUS clicks, which is a range update on a
+// circular difference array: +1 where the arc starts, -1 just past where it ends, and
+// a wrapped arc split in two. One prefix sum at the end turns the differences into
+// counts, so the histogram costs O(1) per rotation plus O(MODULUS).
+//
+// Usage: java DialHistogram [--modulus M] [--start S] [--top K] [input.txt]
+// Prints "position visits" for every position, or with --top the K most visited.
+public final class DialHistogram {
+    private final int modulus;
+    private final long[] diff;
+    private long laps;
+    private int position;
+
+    public DialHistogram(int modulus, int start) {
+        if (modulus <= 0 || start < 0 || start >= modulus) {
+            throw new IllegalArgumentException("Start " + start + " is not a position on a dial of " + modulus);
+        }
+        this.modulus = modulus;
+        this.diff = new long[modulus + 1];
+        this.position = start;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int modulus = 100;
+        int start = 50;
+        int top = -1;
+        String file = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--modulus": modulus = Integer.parseInt(args[++i]); break;
+                case "--start": start = Integer.parseInt(args[++i]); break;
+                case "--top": top = Integer.parseInt(args[++i]); break;
+                default:
+                    if (args[i].startsWith("--")) throw new IllegalArgumentException("Unknown option " + args[i]);
+                    file = args[i];
+            }
+        }
+
+        DialHistogram histogram = new DialHistogram(modulus, start);
+        histogram.addAll(Input.read(file == null ? new String[0] : new String[]{file}));
+        long[] visits = histogram.visits();
+
+        StringBuilder out = new StringBuilder();
+        if (top < 0) {
+            for (int p = 0; p < modulus; p++) {
+                out.append(p).append(' ').append(visits[p]).append('\n');
+            }
+        } else {
+            // Positions by visits, most visited first, ties in position order
+            Integer[] order = new Integer[modulus];
+            Arrays.setAll(order, p -> p);
+            Arrays.sort(order, (a, b) -> visits[a] != visits[b] ? Long.compare(visits[b], visits[a]) : Integer.compare(a, b));
+            for (int k = 0; k < Math.min(top, modulus); k++) {
+                out.append(order[k]).append(' ').append(visits[order[k]]).append('\n');
+            }
+        }
+        System.out.print(out);
+    }
+
+    // Add every rotation in the input, in order
+    public void addAll(ByteBuffer buffer) {
+        Input input = new Input(buffer);
+
+        // hasNext() skips empty lines
+        while (input.hasNext()) {
+            byte direction = input.next();
+            int distance = input.nextInt();
+            add(direction == 'L' ? -distance : direction == 'R' ? distance : 0);
+        }
+    }
+
+    // Add one rotation (L is negative, R is positive)
+    public void add(int rotation) {
+        long distance = Math.abs((long) rotation);
+        laps += distance / modulus;
+        int arc = (int) (distance % modulus);
+
+        if (arc > 0) {
+            // The arc visits the arc positions after the current one, in the direction
+            // of the rotation; as a range going right it starts at `from`
+            int from = rotation > 0 ? (position + 1) % modulus : Math.floorMod(position - arc, modulus);
+            addRange(from, arc);
+        }
+        position = Math.floorMod(position + (long) rotation, modulus);
+    }
+
+    // Where the dial points now
+    public int position() {
+        return position;
+    }
+
+    // Visits per position so far
+    public long[] visits() {
+        long[] visits = new long[modulus];
+        long running = laps;
+        for (int p = 0; p < modulus; p++) {
+            running += diff[p];
+            visits[p] = running;
+        }
+        return visits;
+    }
+
+    // +1 on positions from, from + 1, ..., from + length - 1, wrapping past modulus - 1
+    private void addRange(int from, int length) {
+        int end = from + length;
+        diff[from]++;
+        if (end <= modulus) {
+            diff[end]--;
+        } else {
+            diff[modulus]--;
+            diff[0]++;
+            diff[end - modulus]--;
+        }
+    }
+}
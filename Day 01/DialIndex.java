@@ -0,0 +1,155 @@
+import aoc.Input;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+// Random-access index over a rotation log: where the dial was after any rotation k,
+// and how many landings on 0 and passes through 0 happened between any two rotations,
+// each answered in O(1) instead of a replay of the log.
+//
+// Rotation k (1-based) leaves a checkpoint: the dial position after it and the running
+// totals of landings and crossings up to it. A range count is the difference of two
+// checkpoints. Rotations can be appended at any time; the checkpoint arrays grow by
+// doubling, so an append is amortized O(1).
+//
+// Usage: java DialIndex input.txt, then one query per line on stdin (the log has to be
+// a file, since stdin carries the queries):
+//   position K        dial position after K rotations (K = 0 is the start, 50)
+//   landings I J      rotations I+1..J that end on 0
+//   crossings I J     clicks that pass 0 during rotations I+1..J
+//   size              rotations indexed so far
+//   L68 / R48         append a rotation
+// Each query gets one line back, or "ERR <message>".
+public final class DialIndex {
+    private static final int DIAL = 100;
+    private static final int START = 50;
+
+    private byte[] positions = new byte[1024];
+    private long[] landings = new long[1024];
+    private long[] crossings = new long[1024];
+    private int size;
+
+    public DialIndex() {
+        positions[0] = START;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: DialIndex input.txt, with queries on stdin");
+            System.exit(2);
+        }
+        DialIndex index = parse(Input.map(Path.of(args[0])));
+        BufferedReader queries = new BufferedReader(new InputStreamReader(System.in));
+        for (String line; (line = queries.readLine()) != null; ) {
+            if (line.isBlank()) continue;
+            String reply;
+            try {
+                reply = index.query(line.trim());
+            } catch (RuntimeException e) {
+                reply = "ERR " + e.getMessage();
+            }
+            System.out.println(reply);
+        }
+    }
+
+    // Index every rotation in the input, in order
+    public static DialIndex parse(ByteBuffer buffer) {
+        Input input = new Input(buffer);
+        DialIndex index = new DialIndex();
+
+        // hasNext() skips empty lines
+        while (input.hasNext()) {
+            byte direction = input.next();
+            int distance = input.nextInt();
+            index.append(direction == 'L' ? -distance : direction == 'R' ? distance : 0);
+        }
+        return index;
+    }
+
+    // Add one rotation (L is negative, R is positive) to the end of the log
+    public void append(int rotation) {
+        if (size + 1 == positions.length) {
+            int capacity = positions.length * 2;
+            positions = Arrays.copyOf(positions, capacity);
+            landings = Arrays.copyOf(landings, capacity);
+            crossings = Arrays.copyOf(crossings, capacity);
+        }
+
+        // In long, like the scan: a distance near Integer.MAX_VALUE (or the negated
+        // Integer.MIN_VALUE) plus the position does not fit in an int
+        int position = positions[size];
+        long crossed;
+        if (rotation < 0) {
+            // Turning left is turning right from the mirrored position
+            int mirrored = position == 0 ? 0 : DIAL - position;
+            crossed = (mirrored - (long) rotation) / DIAL;
+        } else {
+            crossed = (position + (long) rotation) / DIAL;
+        }
+        int next = Math.floorMod(position + (long) rotation, DIAL);
+
+        positions[size + 1] = (byte) next;
+        landings[size + 1] = landings[size] + (next == 0 ? 1 : 0);
+        crossings[size + 1] = crossings[size] + crossed;
+        size++;
+    }
+
+    // Rotations indexed so far
+    public int size() {
+        return size;
+    }
+
+    // Dial position after the first k rotations
+    public int positionAfter(int k) {
+        checkIndex(k);
+        return positions[k];
+    }
+
+    // Rotations i+1..j that end with the dial on 0
+    public long landings(int i, int j) {
+        checkRange(i, j);
+        return landings[j] - landings[i];
+    }
+
+    // Clicks during rotations i+1..j that pass through 0
+    public long crossings(int i, int j) {
+        checkRange(i, j);
+        return crossings[j] - crossings[i];
+    }
+
+    private String query(String line) {
+        String[] f = line.split("\\s+");
+        switch (f[0]) {
+            case "position": return Integer.toString(positionAfter(Integer.parseInt(f[1])));
+            case "landings": return Long.toString(landings(Integer.parseInt(f[1]), Integer.parseInt(f[2])));
+            case "crossings": return Long.toString(crossings(Integer.parseInt(f[1]), Integer.parseInt(f[2])));
+            case "size": return Integer.toString(size);
+            default:
+                char direction = f[0].charAt(0);
+                if (f.length != 1 || (direction != 'L' && direction != 'R')) {
+                    throw new IllegalArgumentException("Unknown query " + line);
+                }
+                int distance = Integer.parseInt(f[0].substring(1));
+                append(direction == 'L' ? -distance : distance);
+                return Integer.toString(positions[size]);
+        }
+    }
+
+    private void checkIndex(int k) {
+        if (k < 0 || k > size) {
+            throw new IndexOutOfBoundsException("Rotation " + k + " out of 0.." + size);
+        }
+    }
+
+    private void checkRange(int i, int j) {
+        checkIndex(i);
+        checkIndex(j);
+        if (i > j) {
+            throw new IllegalArgumentException("Empty range " + i + ".." + j);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+import aoc.DualSolver;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+// Checks the Part 2 solution and the combined solution on rotations near
+// Integer.MAX_VALUE, where the position plus the distance no longer fits in an int.
+// Each case has a known crossing count, and DialBatch (which counts in long) must agree
+// with it. The last case is long enough to send the combined solution down its
+// fork/join path, so both of its paths are covered.
+//
+// Usage: javac -cp out/common -d out/day01 "Day 01/OverflowCheck.java" "Day 01/Solution.java"
+//            "Day 01/Puzzle 02/Solution02.java" "Day 01/DialBatch.java"
+//        java -cp out/common:out/day01 OverflowCheck
+// Prints one line per case; exits with status 1 if any count is wrong.
+public final class OverflowCheck {
+    // Enough rotations for the combined solution's parallel scan (PARALLEL_THRESHOLD)
+    private static final int PARALLEL_ROTATIONS = 1 << 16;
+
+    public static void main(String[] args) {
+        boolean ok = true;
+
+        // From 50, turning left by 2^31 - 1 passes 0 at clicks 50, 150, ...
+        ok &= check("L2147483647", "L2147483647\n", 21_474_836);
+        // Right ends back on 50 after 21474836 passes, and the left turn adds as many
+        ok &= check("R2147483600 L2147483647", "R2147483600\nL2147483647\n", 42_949_672);
+        // The same turn 2^16 times, which the combined solution counts with its parallel scan
+        ok &= check(PARALLEL_ROTATIONS + " x L2147483647", "L2147483647\n".repeat(PARALLEL_ROTATIONS),
+                expectedRepeatedLeft(PARALLEL_ROTATIONS));
+
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    // Every left turn of 2^31 - 1 moves the dial 47 positions left, so replay it
+    private static long expectedRepeatedLeft(int times) {
+        long crossings = 0;
+        int position = 50;
+        for (int i = 0; i < times; i++) {
+            int mirrored = position == 0 ? 0 : 100 - position;
+            crossings += (mirrored + (long) Integer.MAX_VALUE) / 100;
+            position = Math.floorMod(position - (long) Integer.MAX_VALUE, 100);
+        }
+        return crossings;
+    }
+
+    private static boolean check(String name, String rotations, long expected) {
+        long part2 = new Solution02().solve(new Solution02().parse(bytes(rotations)));
+        Solution solution = new Solution();
+        DualSolver.Answers both = solution.solve(solution.parse(bytes(rotations)));
+        DialBatch batch = DialBatch.parse(bytes("100 50\n" + rotations));
+        batch.run();
+
+        boolean match = part2 == expected
+                && both.part2.longValue() == expected
+                && batch.crossings(0) == expected;
+        System.out.println(name + ": " + (match ? "OK " + expected
+                : "MISMATCH: expected " + expected + ", Solution02 " + part2
+                        + ", Solution " + both.part2 + ", DialBatch " + batch.crossings(0)));
+        return match;
+    }
+
+    private static ByteBuffer bytes(String text) {
+        return ByteBuffer.wrap(text.getBytes(StandardCharsets.ISO_8859_1));
+    }
+}
@@ -1,30 +1,51 @@
-import java.util.Scanner;
+import aoc.Events;
+import aoc.Input;
+import aoc.Solver;
 
-public class Solution01 {
-    public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
-        
-        int currentPosition = 50;
-        int zeroCount = 0;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class Solution01 implements Solver<int[]> {
+    private static final String PUZZLE = "Day 01/Puzzle 01";
+
+    public static void main(String[] args) throws IOException {
+        Solver.run(new Solution01(), args);
+    }
+    
+    // Parse the rotations as signed distances: L is negative, R is positive
+    @Override
+    public int[] parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
+        int[] rotations = new int[1024];
+        int count = 0;
         
-        while (scanner.hasNextLine()) {
-            String line = scanner.nextLine().trim();
-            
-            // Skip empty lines
-            if (line.isEmpty()) {
-                continue;
-            }
-            
+        // hasNext() skips empty lines
+        while (input.hasNext()) {
             // Parse direction and distance
-            char direction = line.charAt(0);
-            int distance = Integer.parseInt(line.substring(1));
+            byte direction = input.next();
+            int distance = input.nextInt();
             
-            // Rotate the dial
-            if (direction == 'L') {
-                currentPosition = (currentPosition - distance) % 100;
-            } else if (direction == 'R') {
-                currentPosition = (currentPosition + distance) % 100;
+            if (count == rotations.length) {
+                rotations = Arrays.copyOf(rotations, count * 2);
             }
+            rotations[count++] = direction == 'L' ? -distance : direction == 'R' ? distance : 0;
+        }
+        
+        event.done(count);
+        return Arrays.copyOf(rotations, count);
+    }
+    
+    @Override
+    public Long solve(int[] rotations) {
+        Events.Solve event = Events.solve(PUZZLE);
+        int currentPosition = 50;
+        long zeroCount = 0;
+        
+        for (int rotation : rotations) {
+            // Rotate the dial
+            currentPosition = (currentPosition + rotation) % 100;
             
             // Handle negative modulo in Java
             if (currentPosition < 0) {
@@ -37,7 +58,7 @@ public class Solution01 {
             }
         }
         
-        scanner.close();
-        System.out.println(zeroCount);
+        event.done(0, zeroCount);
+        return zeroCount;
     }
 }
@@ -1,64 +1,75 @@
-import java.util.Scanner;
+import aoc.Events;
+import aoc.Input;
+import aoc.Solver;
 
-public class Solution02 {
-    public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
-        
-        int currentPosition = 50;
-        int zeroCount = 0;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class Solution02 implements Solver<int[]> {
+    private static final String PUZZLE = "Day 01/Puzzle 02";
+
+    public static void main(String[] args) throws IOException {
+        Solver.run(new Solution02(), args);
+    }
+    
+    // Parse the rotations as signed distances: L is negative, R is positive
+    @Override
+    public int[] parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
+        int[] rotations = new int[1024];
+        int count = 0;
         
-        while (scanner.hasNextLine()) {
-            String line = scanner.nextLine().trim();
-            
-            // Skip empty lines
-            if (line.isEmpty()) {
-                continue;
-            }
-            
+        // hasNext() skips empty lines
+        while (input.hasNext()) {
             // Parse direction and distance
-            char direction = line.charAt(0);
-            int distance = Integer.parseInt(line.substring(1));
+            byte direction = input.next();
+            int distance = input.nextInt();
             
-            // Count how many times we pass through 0 during this rotation
-            if (direction == 'L') {
-                zeroCount += countZeroCrossingsLeft(currentPosition, distance);
-                currentPosition = (currentPosition - distance) % 100;
-                if (currentPosition < 0) {
-                    currentPosition += 100;
-                }
-            } else if (direction == 'R') {
-                zeroCount += countZeroCrossingsRight(currentPosition, distance);
-                currentPosition = (currentPosition + distance) % 100;
+            if (count == rotations.length) {
+                rotations = Arrays.copyOf(rotations, count * 2);
             }
+            rotations[count++] = direction == 'L' ? -distance : direction == 'R' ? distance : 0;
         }
         
-        scanner.close();
-        System.out.println(zeroCount);
+        event.done(count);
+        return Arrays.copyOf(rotations, count);
     }
     
-    // Count how many times we pass through 0 when rotating LEFT
-    private static int countZeroCrossingsLeft(int position, int distance) {
-        // We visit positions: (position - 1), (position - 2), ..., (position - distance) mod 100
-        // We pass through 0 when (position - i) % 100 == 0
-        // This happens when position - i = 100k, i.e., i = position - 100k
-        // We need 1 <= i <= distance
+    @Override
+    public Long solve(int[] rotations) {
+        Events.Solve event = Events.solve(PUZZLE);
+        int currentPosition = 50;
+        long zeroCount = 0;
         
-        int kMin = (int) Math.ceil((position - distance) / 100.0);
-        int kMax = (int) Math.floor((position - 1) / 100.0);
+        for (int rotation : rotations) {
+            // Count how many times we pass through 0 during this rotation; in long, as
+            // a distance near Integer.MAX_VALUE plus the position does not fit in an int
+            if (rotation < 0) {
+                zeroCount += countZeroCrossingsLeft(currentPosition, -(long) rotation);
+            } else {
+                zeroCount += countZeroCrossingsRight(currentPosition, rotation);
+            }
+            currentPosition = Math.floorMod(currentPosition + (long) rotation, 100);
+        }
         
-        return Math.max(0, kMax - kMin + 1);
+        event.done(0, zeroCount);
+        return zeroCount;
+    }
+    
+    // Count how many times we pass through 0 when rotating LEFT
+    private static long countZeroCrossingsLeft(int position, long distance) {
+        // Turning left from position is turning right from its mirror image (100 - position)
+        // mod 100, and mirroring keeps 0 where it is
+        int mirrored = position == 0 ? 0 : 100 - position;
+        return countZeroCrossingsRight(mirrored, distance);
     }
     
     // Count how many times we pass through 0 when rotating RIGHT
-    private static int countZeroCrossingsRight(int position, int distance) {
-        // We visit positions: (position + 1), (position + 2), ..., (position + distance) mod 100
-        // We pass through 0 when (position + i) % 100 == 0
-        // This happens when position + i = 100k, i.e., i = 100k - position
-        // We need 1 <= i <= distance
-        
-        int kMin = (int) Math.ceil((position + 1) / 100.0);
-        int kMax = (int) Math.floor((position + distance) / 100.0);
-        
-        return Math.max(0, kMax - kMin + 1);
+    private static long countZeroCrossingsRight(int position, long distance) {
+        // We pass through 0 at every multiple of 100 in (position, position + distance];
+        // position is below 100, so that is (position + distance) / 100
+        return (position + distance) / 100;
     }
 }
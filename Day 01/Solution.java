@@ -0,0 +1,194 @@
+import aoc.DualSolver;
+import aoc.Events;
+import aoc.Input;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Both parts in one pass over the rotations: Part 1 counts the rotations that end on 0,
+// Part 2 every click that passes 0
+//
+// Long inputs are counted with a parallel scan instead (see Scan): rotations compose
+// by adding their offsets mod 100, so each chunk can be counted on its own for every
+// starting position and the chunks stitched together afterwards.
+public class Solution implements DualSolver<int[]> {
+    private static final String PUZZLE = "Day 01/Both";
+    private static final int DIAL = 100;
+    private static final int START = 50;
+
+    // Below this many rotations the sequential loop wins over forking
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+    // Rotations one leaf task counts sequentially
+    private static final int LEAF_SIZE = 1 << 13;
+
+    public static void main(String[] args) throws IOException {
+        DualSolver.run(new Solution(), args);
+    }
+
+    // Parse the rotations as signed distances: L is negative, R is positive
+    @Override
+    public int[] parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
+        int[] rotations = new int[1024];
+        int count = 0;
+
+        // hasNext() skips empty lines
+        while (input.hasNext()) {
+            // Parse direction and distance
+            byte direction = input.next();
+            int distance = input.nextInt();
+
+            if (count == rotations.length) {
+                rotations = Arrays.copyOf(rotations, count * 2);
+            }
+            rotations[count++] = direction == 'L' ? -distance : direction == 'R' ? distance : 0;
+        }
+
+        event.done(count);
+        return Arrays.copyOf(rotations, count);
+    }
+
+    @Override
+    public Answers solve(int[] rotations) {
+        Events.Solve event = Events.solve(PUZZLE);
+        if (rotations.length >= PARALLEL_THRESHOLD) {
+            Counts counts = ForkJoinPool.commonPool().invoke(new Scan(rotations, 0, rotations.length));
+            Answers answers = new Answers(counts.landings[START], counts.crossings[START]);
+            event.done(0, answers);
+            return answers;
+        }
+
+        int currentPosition = START;
+        long landings = 0;
+        long crossings = 0;
+
+        for (int rotation : rotations) {
+            // Count how many times we pass through 0 during this rotation; in long, like
+            // the Scan, as a distance near Integer.MAX_VALUE plus the position overflows an int
+            if (rotation < 0) {
+                crossings += countZeroCrossingsLeft(currentPosition, -(long) rotation);
+            } else {
+                crossings += countZeroCrossingsRight(currentPosition, rotation);
+            }
+
+            // Rotate the dial; floorMod keeps the position non-negative
+            currentPosition = Math.floorMod(currentPosition + (long) rotation, DIAL);
+
+            // Count if we land on 0
+            if (currentPosition == 0) {
+                landings++;
+            }
+        }
+
+        Answers answers = new Answers(landings, crossings);
+        event.done(0, answers);
+        return answers;
+    }
+
+    // Count how many times we pass through 0 when rotating LEFT
+    private static long countZeroCrossingsLeft(int position, long distance) {
+        // Turning left from position is turning right from its mirror image (DIAL - position)
+        // mod DIAL, and mirroring keeps 0 where it is
+        int mirrored = position == 0 ? 0 : DIAL - position;
+        return countZeroCrossingsRight(mirrored, distance);
+    }
+
+    // Count how many times we pass through 0 when rotating RIGHT
+    private static long countZeroCrossingsRight(int position, long distance) {
+        // We pass through 0 at every multiple of DIAL in (position, position + distance];
+        // position is below DIAL, so that is (position + distance) / DIAL
+        return (position + distance) / DIAL;
+    }
+
+    // What a run of rotations does from each of the DIAL starting positions: where the
+    // dial ends up (start + shift mod DIAL), how often it lands on 0 and how often it passes 0
+    private static final class Counts {
+        final int shift;
+        final long[] landings = new long[DIAL];
+        final long[] crossings = new long[DIAL];
+
+        Counts(int shift) {
+            this.shift = shift;
+        }
+
+        // This run followed by the next one
+        Counts then(Counts next) {
+            Counts out = new Counts((shift + next.shift) % DIAL);
+            for (int s = 0; s < DIAL; s++) {
+                int mid = (s + shift) % DIAL;
+                out.landings[s] = landings[s] + next.landings[mid];
+                out.crossings[s] = crossings[s] + next.crossings[mid];
+            }
+            return out;
+        }
+    }
+
+    // Fork/join scan over rotations[from, to): halves are counted in parallel and
+    // joined with Counts.then
+    @SuppressWarnings("serial")
+    private static final class Scan extends RecursiveTask<Counts> {
+        private final int[] rotations;
+        private final int from, to;
+
+        Scan(int[] rotations, int from, int to) {
+            this.rotations = rotations;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Counts compute() {
+            if (to - from <= LEAF_SIZE) {
+                return count();
+            }
+            int mid = (from + to) >>> 1;
+            Scan left = new Scan(rotations, from, mid);
+            left.fork();
+            Counts right = new Scan(rotations, mid, to).compute();
+            return left.join().then(right);
+        }
+
+        // One pass over the chunk, tracking the unwrapped position p from start 0. From
+        // start s the dial is at s + p, so it lands on 0 where p = -s mod DIAL, and every
+        // floor((s + x) / DIAL) in the crossing counts is floor(x / DIAL), plus one when
+        // x mod DIAL >= DIAL - s; the pass tallies those residues per bucket.
+        private Counts count() {
+            long[] landed = new long[DIAL];
+            long[] bucket = new long[DIAL];
+            long crossings = 0;
+            long p = 0;
+
+            for (int i = from; i < to; i++) {
+                long q = p + rotations[i];
+                if (q > p) {
+                    // Right: multiples of DIAL in (p, q]
+                    crossings += Math.floorDiv(q, DIAL) - Math.floorDiv(p, DIAL);
+                    bucket[Math.floorMod(q, DIAL)]++;
+                    bucket[Math.floorMod(p, DIAL)]--;
+                } else if (q < p) {
+                    // Left: multiples of DIAL in [q, p)
+                    crossings += Math.floorDiv(p - 1, DIAL) - Math.floorDiv(q - 1, DIAL);
+                    bucket[Math.floorMod(p - 1, DIAL)]++;
+                    bucket[Math.floorMod(q - 1, DIAL)]--;
+                }
+                landed[Math.floorMod(q, DIAL)]++;
+                p = q;
+            }
+
+            Counts counts = new Counts(Math.floorMod(p, DIAL));
+            long carried = 0;
+            for (int s = 0; s < DIAL; s++) {
+                if (s > 0) {
+                    carried += bucket[DIAL - s];
+                }
+                counts.landings[s] = landed[(DIAL - s) % DIAL];
+                counts.crossings[s] = crossings + carried;
+            }
+            return counts;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+import aoc.DualSolver;
+import aoc.Input;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Checks the closed-form sums of the combined solution against a scan of every ID.
+//
+// The scan tests each ID with long arithmetic only, so it allocates nothing per ID:
+// an ID of L digits is a d-digit block repeated L/d times exactly when it is a multiple
+// of R(L, d) = 10^(L-d) + ... + 10^d + 1 (the quotient is the block). A block that
+// repeats also repeats with any longer block length dividing L, so for "at least twice"
+// it is enough to try d = L/p for each prime p dividing L. The ranges are split into
+// chunks across the common ForkJoinPool.
+//
+// Usage: javac -cp out/common -d out/day02 "Day 02/CrossCheck.java" "Day 02/Solution.java"
+//        java -cp out/common:out/day02 CrossCheck [input.txt]
+// Prints both scanned sums and whether they match; exits with status 1 if not.
+public final class CrossCheck {
+    // IDs one leaf task tests sequentially
+    private static final long LEAF_SIZE = 1 << 16;
+
+    // POW10[k] = 10^k, for every digit count of a long
+    private static final long[] POW10 = new long[19];
+    // REPUNIT[L][d] = R(L, d) for the d that divide L, d < L; 0 otherwise
+    private static final long[][] REPUNIT = new long[20][];
+    // PERIODS[L]: L/p for each prime p dividing L
+    private static final int[][] PERIODS = new int[20][];
+
+    static {
+        POW10[0] = 1;
+        for (int k = 1; k < POW10.length; k++) {
+            POW10[k] = POW10[k - 1] * 10;
+        }
+        for (int length = 1; length < REPUNIT.length; length++) {
+            REPUNIT[length] = new long[length];
+            for (int period = 1; period < length; period++) {
+                if (length % period != 0) continue;
+                long multiplier = 0;
+                for (int i = 0; i < length / period; i++) {
+                    multiplier = multiplier * POW10[period] + 1;
+                }
+                REPUNIT[length][period] = multiplier;
+            }
+
+            int[] periods = new int[length];
+            int n = 0;
+            for (int p = 2; p <= length; p++) {
+                if (length % p == 0 && isPrime(p)) {
+                    periods[n++] = length / p;
+                }
+            }
+            PERIODS[length] = Arrays.copyOf(periods, n);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        ByteBuffer buffer = Input.read(args);
+        Solution solution = new Solution();
+        long[] ranges = solution.parse(buffer);
+        DualSolver.Answers closedForm = solution.solve(ranges);
+
+        // The sums outgrow a long as soon as the ranges do, like the closed form's
+        BigInteger repeatedTwice = BigInteger.ZERO;
+        BigInteger repeated = BigInteger.ZERO;
+        for (int r = 0; r < ranges.length; r += 2) {
+            BigInteger[] sums = ForkJoinPool.commonPool().invoke(new Scan(ranges[r], ranges[r + 1]));
+            repeatedTwice = repeatedTwice.add(sums[0]);
+            repeated = repeated.add(sums[1]);
+        }
+
+        boolean match = repeatedTwice.equals(toBigInteger(closedForm.part1))
+                && repeated.equals(toBigInteger(closedForm.part2));
+        System.out.println(repeatedTwice);
+        System.out.println(repeated);
+        System.out.println(match ? "OK" : "MISMATCH: closed form gives " + closedForm);
+        if (!match) {
+            System.exit(1);
+        }
+    }
+
+    private static BigInteger toBigInteger(Number n) {
+        return n instanceof BigInteger ? (BigInteger) n : BigInteger.valueOf(n.longValue());
+    }
+
+    // Number of decimal digits of a positive id
+    static int digits(long id) {
+        int length = 1;
+        while (length < POW10.length && id >= POW10[length]) {
+            length++;
+        }
+        return length;
+    }
+
+    // Part 1: the first half of the digits equals the second half
+    static boolean isRepeatedTwice(long id) {
+        int length = digits(id);
+        return length % 2 == 0 && id % REPUNIT[length][length / 2] == 0;
+    }
+
+    // Part 2: the digits are some block repeated at least twice
+    static boolean isRepeated(long id) {
+        int length = digits(id);
+        for (int period : PERIODS[length]) {
+            if (id % REPUNIT[length][period] == 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isPrime(int n) {
+        for (int d = 2; d * d <= n; d++) {
+            if (n % d == 0) return false;
+        }
+        return n >= 2;
+    }
+
+    // Sums of the Part 1 and Part 2 invalid IDs in [from, to], halving wide ranges
+    @SuppressWarnings("serial")
+    private static final class Scan extends RecursiveTask<BigInteger[]> {
+        private final long from, to;
+
+        Scan(long from, long to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected BigInteger[] compute() {
+            if (to - from < LEAF_SIZE) {
+                return scan();
+            }
+
+            long mid = from + (to - from) / 2;
+            Scan left = new Scan(from, mid);
+            left.fork();
+            BigInteger[] right = new Scan(mid + 1, to).compute();
+            BigInteger[] sums = left.join();
+            sums[0] = sums[0].add(right[0]);
+            sums[1] = sums[1].add(right[1]);
+            return sums;
+        }
+
+        // The IDs are added up in longs, which are carried into the BigInteger totals
+        // before they can overflow, so only those carries allocate
+        private BigInteger[] scan() {
+            BigInteger[] sums = {BigInteger.ZERO, BigInteger.ZERO};
+            long repeatedTwice = 0;
+            long repeated = 0;
+
+            // Stop at to rather than past it, which for Long.MAX_VALUE would wrap around
+            for (long id = Math.max(from, 1); id <= to; id++) {
+                if (isRepeated(id)) {
+                    if (repeated > Long.MAX_VALUE - id) {
+                        sums[1] = sums[1].add(BigInteger.valueOf(repeated));
+                        repeated = 0;
+                    }
+                    repeated += id;
+                    if (isRepeatedTwice(id)) {
+                        if (repeatedTwice > Long.MAX_VALUE - id) {
+                            sums[0] = sums[0].add(BigInteger.valueOf(repeatedTwice));
+                            repeatedTwice = 0;
+                        }
+                        repeatedTwice += id;
+                    }
+                }
+                if (id == to) {
+                    break;
+                }
+            }
+
+            sums[0] = sums[0].add(BigInteger.valueOf(repeatedTwice));
+            sums[1] = sums[1].add(BigInteger.valueOf(repeated));
+            return sums;
+        }
+    }
+}
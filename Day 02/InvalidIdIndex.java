@@ -0,0 +1,223 @@
+import aoc.Input;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+// A file listing every invalid ID up to a bound, with running sums, so that range lists
+// are answered by lookups in the mapped file instead of by any arithmetic on the IDs.
+//
+// Usage: java InvalidIdIndex --build BOUND FILE
+//        java InvalidIdIndex FILE [input.txt]
+// The first form writes the index; the second maps it and prints the Part 1 and Part 2
+// sums for the ranges in the input (or stdin), one per line, like the solutions.
+//
+// The file is a header of HEADER longs (MAGIC, bound, n) followed by three arrays of
+// longs: the n invalid IDs (by the Part 2 rule, which includes the Part 1 IDs) in
+// ascending order, then n + 1 running sums of them, then n + 1 running sums of only
+// the Part 1 IDs among them. Opening the index maps the file and reads the header, and
+// a range costs two binary searches and two subtractions per part.
+public final class InvalidIdIndex {
+    private static final long MAGIC = 0x41_4F_43_30_32_49_44_58L; // "AOC02IDX"
+    private static final int HEADER = 3;
+    // Past this the running sums outgrow a long (the sum up to 10^13 is about 5 * 10^17,
+    // up to 10^14 about 5 * 10^19)
+    private static final long MAX_BOUND = 10_000_000_000_000L;
+
+    private final long bound;
+    private final int count;
+    private final LongBuffer ids;
+    private final LongBuffer sums;
+    private final LongBuffer twiceSums;
+
+    private InvalidIdIndex(LongBuffer longs) {
+        if (longs.limit() < HEADER || longs.get(0) != MAGIC) {
+            throw new IllegalArgumentException("Not an invalid-ID index");
+        }
+        bound = longs.get(1);
+        count = (int) longs.get(2);
+        if (longs.limit() != HEADER + 3L * count + 2) {
+            throw new IllegalArgumentException("Truncated invalid-ID index");
+        }
+        ids = slice(longs, HEADER, count);
+        sums = slice(longs, HEADER + count, count + 1);
+        twiceSums = slice(longs, HEADER + 2 * count + 1, count + 1);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 3 && args[0].equals("--build")) {
+            long bound = Long.parseLong(args[1]);
+            build(bound, Path.of(args[2]));
+            return;
+        }
+        if (args.length < 1 || args.length > 2 || args[0].startsWith("--")) {
+            System.err.println("Usage: InvalidIdIndex --build BOUND FILE | InvalidIdIndex FILE [input.txt]");
+            System.exit(2);
+        }
+
+        InvalidIdIndex index = open(Path.of(args[0]));
+        Input input = new Input(Input.read(Arrays.copyOfRange(args, 1, args.length)));
+        long repeatedTwice = 0;
+        long repeated = 0;
+
+        while (input.hasNext()) {
+            // Parse start and end of range
+            long start = input.nextLong();
+            input.expect('-');
+            long end = input.nextLong();
+            input.skip(',');
+
+            repeatedTwice += index.sumRepeatedTwice(start, end);
+            repeated += index.sumRepeated(start, end);
+        }
+
+        System.out.println(repeatedTwice);
+        System.out.println(repeated);
+    }
+
+    public static InvalidIdIndex open(Path file) throws IOException {
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer mapped = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            return new InvalidIdIndex(mapped.order(ByteOrder.LITTLE_ENDIAN).asLongBuffer());
+        }
+    }
+
+    // Write the index of every invalid ID up to bound
+    public static void build(long bound, Path file) throws IOException {
+        if (bound < 1 || bound > MAX_BOUND) {
+            throw new IllegalArgumentException("Bound " + bound + " out of 1.." + MAX_BOUND);
+        }
+        long[] ids = enumerate(bound);
+        long[] flat = new long[HEADER + 3 * ids.length + 2];
+        flat[0] = MAGIC;
+        flat[1] = bound;
+        flat[2] = ids.length;
+
+        int sums = HEADER + ids.length;
+        int twiceSums = sums + ids.length + 1;
+        for (int i = 0; i < ids.length; i++) {
+            long id = ids[i];
+            flat[HEADER + i] = id;
+            flat[sums + i + 1] = flat[sums + i] + id;
+            flat[twiceSums + i + 1] = flat[twiceSums + i] + (isRepeatedTwice(id) ? id : 0);
+        }
+
+        ByteBuffer bytes = ByteBuffer.allocate(flat.length * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        bytes.asLongBuffer().put(flat);
+        try (FileChannel ch = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (bytes.hasRemaining()) {
+                ch.write(bytes);
+            }
+        }
+    }
+
+    // Sum of the IDs in [start, end] made of a block repeated exactly twice (Part 1);
+    // a range with start > end is empty and sums to 0, as in the solvers
+    public long sumRepeatedTwice(long start, long end) {
+        if (start > end) {
+            return 0;
+        }
+        checkBound(start, end);
+        return twiceSums.get(firstAbove(end)) - twiceSums.get(firstAtLeast(start));
+    }
+
+    // Sum of the IDs in [start, end] made of a block repeated at least twice (Part 2)
+    public long sumRepeated(long start, long end) {
+        if (start > end) {
+            return 0;
+        }
+        checkBound(start, end);
+        return sums.get(firstAbove(end)) - sums.get(firstAtLeast(start));
+    }
+
+    // Every ID from 1 to bound made of a block repeated at least twice, ascending: for
+    // each length and each block length dividing it, the block h repeated is h * R with
+    // R = 10^(length-period) + ... + 10^period + 1. IDs with several block lengths (such
+    // as 1111) come up once per block length, so duplicates are dropped after sorting.
+    private static long[] enumerate(long bound) {
+        long[] ids = new long[1024];
+        int n = 0;
+
+        // Up to 19 digits, the longest ID that fits in a long
+        for (int length = 2; length <= 19; length++) {
+            for (int period = 1; period <= length / 2; period++) {
+                if (length % period != 0) {
+                    continue;
+                }
+                long low = 1; // smallest period-digit block, 10^(period-1)
+                for (int i = 1; i < period; i++) {
+                    low *= 10;
+                }
+                long multiplier = 0;
+                for (int i = 0; i < length / period; i++) {
+                    multiplier = multiplier * (low * 10) + 1;
+                }
+
+                long hTo = Math.min(low * 10 - 1, bound / multiplier);
+                for (long h = low; h <= hTo; h++) {
+                    if (n == ids.length) {
+                        ids = Arrays.copyOf(ids, n * 2);
+                    }
+                    ids[n++] = h * multiplier;
+                }
+            }
+        }
+
+        Arrays.sort(ids, 0, n);
+        int unique = 0;
+        for (int i = 0; i < n; i++) {
+            if (unique == 0 || ids[i] != ids[unique - 1]) {
+                ids[unique++] = ids[i];
+            }
+        }
+        return Arrays.copyOf(ids, unique);
+    }
+
+    // The first half of the digits equals the second half
+    private static boolean isRepeatedTwice(long id) {
+        long half = 1;
+        int digits = 0;
+        for (long rest = id; rest > 0; rest /= 10) {
+            digits++;
+        }
+        if (digits % 2 != 0) {
+            return false;
+        }
+        for (int i = 0; i < digits / 2; i++) {
+            half *= 10;
+        }
+        return id / half == id % half;
+    }
+
+    // Index of the first ID >= value (count if there is none)
+    private int firstAtLeast(long value) {
+        int lo = 0, hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (ids.get(mid) < value) lo = mid + 1;
+            else hi = mid;
+        }
+        return lo;
+    }
+
+    // Index of the first ID > value (count if there is none)
+    private int firstAbove(long value) {
+        return value == Long.MAX_VALUE ? count : firstAtLeast(value + 1);
+    }
+
+    private void checkBound(long start, long end) {
+        if (end > bound) {
+            throw new IllegalArgumentException("Range " + start + "-" + end + " goes past the index bound " + bound);
+        }
+    }
+
+    private static LongBuffer slice(LongBuffer longs, int from, int length) {
+        return longs.duplicate().position(from).limit(from + length).slice();
+    }
+}
@@ -1,56 +1,87 @@
-import java.util.Scanner;
+import aoc.Events;
+import aoc.Input;
+import aoc.Solver;
 
-public class Solution01 {
-    public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
-        
-        // Read the entire input (could be multiple lines)
-        StringBuilder input = new StringBuilder();
-        while (scanner.hasNextLine()) {
-            input.append(scanner.nextLine().trim());
-        }
-        scanner.close();
-        
-        // Parse ranges separated by commas
-        String[] ranges = input.toString().split(",");
-        
-        long totalSum = 0;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class Solution01 implements Solver<long[]> {
+    private static final String PUZZLE = "Day 02/Puzzle 01";
+
+    public static void main(String[] args) throws IOException {
+        Solver.run(new Solution01(), args);
+    }
+    
+    // Parse ranges separated by commas (could be spread over multiple lines),
+    // stored as start/end pairs
+    @Override
+    public long[] parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
+        long[] ranges = new long[64];
+        int count = 0;
         
-        for (String range : ranges) {
-            range = range.trim();
-            if (range.isEmpty()) continue;
-            
+        while (input.hasNext()) {
             // Parse start and end of range
-            String[] parts = range.split("-");
-            long start = Long.parseLong(parts[0]);
-            long end = Long.parseLong(parts[1]);
+            long start = input.nextLong();
+            input.expect('-');
+            long end = input.nextLong();
+            input.skip(',');
             
-            // Check each ID in the range
-            for (long id = start; id <= end; id++) {
-                if (isInvalid(id)) {
-                    totalSum += id;
-                }
+            if (count + 2 > ranges.length) {
+                ranges = Arrays.copyOf(ranges, ranges.length * 2);
             }
+            ranges[count++] = start;
+            ranges[count++] = end;
         }
         
-        System.out.println(totalSum);
+        event.done(count / 2);
+        return Arrays.copyOf(ranges, count);
     }
     
-    // Check if an ID is invalid (repeated pattern)
-    private static boolean isInvalid(long id) {
-        String str = String.valueOf(id);
-        int len = str.length();
+    // The sum can outgrow a long once the ranges reach past 10^13 or so
+    @Override
+    public BigInteger solve(long[] ranges) {
+        Events.Solve event = Events.solve(PUZZLE);
+        BigInteger totalSum = BigInteger.ZERO;
         
-        // Must have even length to be repeated twice
-        if (len % 2 != 0) {
-            return false;
+        for (int r = 0; r < ranges.length; r += 2) {
+            totalSum = totalSum.add(sumInvalid(ranges[r], ranges[r + 1]));
         }
         
-        // Check if first half equals second half
-        int half = len / 2;
-        String firstHalf = str.substring(0, half);
-        String secondHalf = str.substring(half);
+        event.done(0, totalSum);
+        return totalSum;
+    }
+    
+    // Sum of the invalid IDs in [start, end], without visiting the IDs one by one.
+    // An invalid ID of 2k digits is some k-digit h written twice, which is h * (10^k + 1),
+    // so for each k the invalid IDs in range are an arithmetic series over an interval of h.
+    static BigInteger sumInvalid(long start, long end) {
+        BigInteger totalSum = BigInteger.ZERO;
+        long low = 1; // smallest k-digit number, 10^(k-1)
+        
+        // Up to 9-digit halves: an 18-digit ID is the longest that fits in a long
+        for (int k = 1; k <= 9; k++, low *= 10) {
+            long multiplier = low * 10 + 1;
+            long hFrom = Math.max(low, -Math.floorDiv(-start, multiplier));
+            long hTo = Math.min(low * 10 - 1, Math.floorDiv(end, multiplier));
+            
+            if (hFrom <= hTo) {
+                BigInteger series = BigInteger.valueOf(seriesSum(hFrom, hTo));
+                totalSum = totalSum.add(series.multiply(BigInteger.valueOf(multiplier)));
+            }
+        }
         
-        return firstHalf.equals(secondHalf);
+        return totalSum;
+    }
+    
+    // from + (from + 1) + ... + to for 0 < from <= to < 10^9, which stays below 10^18;
+    // halving whichever factor is even first keeps the product in range too
+    private static long seriesSum(long from, long to) {
+        long count = to - from + 1;
+        long ends = from + to;
+        return count % 2 == 0 ? count / 2 * ends : count * (ends / 2);
     }
 }
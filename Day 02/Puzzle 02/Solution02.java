@@ -1,67 +1,128 @@
-import java.util.Scanner;
+import aoc.Events;
+import aoc.Input;
+import aoc.Solver;
 
-public class Solution02 {
-    public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class Solution02 implements Solver<long[]> {
+    private static final String PUZZLE = "Day 02/Puzzle 02";
+
+    public static void main(String[] args) throws IOException {
+        Solver.run(new Solution02(), args);
+    }
+    
+    // Parse ranges separated by commas (could be spread over multiple lines),
+    // stored as start/end pairs
+    @Override
+    public long[] parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
+        long[] ranges = new long[64];
+        int count = 0;
         
-        // Read the entire input (could be multiple lines)
-        StringBuilder input = new StringBuilder();
-        while (scanner.hasNextLine()) {
-            input.append(scanner.nextLine().trim());
+        while (input.hasNext()) {
+            // Parse start and end of range
+            long start = input.nextLong();
+            input.expect('-');
+            long end = input.nextLong();
+            input.skip(',');
+            
+            if (count + 2 > ranges.length) {
+                ranges = Arrays.copyOf(ranges, ranges.length * 2);
+            }
+            ranges[count++] = start;
+            ranges[count++] = end;
         }
-        scanner.close();
         
-        // Parse ranges separated by commas
-        String[] ranges = input.toString().split(",");
+        event.done(count / 2);
+        return Arrays.copyOf(ranges, count);
+    }
+    
+    // The sum can outgrow a long once the ranges reach past 10^13 or so
+    @Override
+    public BigInteger solve(long[] ranges) {
+        Events.Solve event = Events.solve(PUZZLE);
+        BigInteger totalSum = BigInteger.ZERO;
         
-        long totalSum = 0;
+        for (int r = 0; r < ranges.length; r += 2) {
+            totalSum = totalSum.add(sumInvalid(ranges[r], ranges[r + 1]));
+        }
         
-        for (String range : ranges) {
-            range = range.trim();
-            if (range.isEmpty()) continue;
-            
-            // Parse start and end of range
-            String[] parts = range.split("-");
-            long start = Long.parseLong(parts[0]);
-            long end = Long.parseLong(parts[1]);
-            
-            // Check each ID in the range
-            for (long id = start; id <= end; id++) {
-                if (isInvalid(id)) {
-                    totalSum += id;
+        event.done(0, totalSum);
+        return totalSum;
+    }
+    
+    // Sum of the invalid IDs in [start, end], without visiting the IDs one by one.
+    //
+    // The L-digit IDs made of a d-digit block h repeated L/d times are h * R(L, d), where
+    // R(L, d) = 10^(L-d) + ... + 10^d + 1, so those in range are an arithmetic series over
+    // an interval of h (see sumFamily). An ID whose shortest block has q digits is in the
+    // family of every d that q divides, so adding up the families counts it more than once.
+    // Moebius inversion over the divisors of L weighs the families so that every ID with a
+    // block shorter than L counts exactly once: the sum is -mu(L/d) * family(L, d) over all
+    // d that divide L, d < L.
+    static BigInteger sumInvalid(long start, long end) {
+        BigInteger totalSum = BigInteger.ZERO;
+        
+        // Up to 19 digits, the longest ID that fits in a long
+        for (int length = 2; length <= 19; length++) {
+            for (int period = 1; period <= length / 2; period++) {
+                int weight = length % period == 0 ? -mobius(length / period) : 0;
+                if (weight != 0) {
+                    BigInteger family = sumFamily(start, end, length, period);
+                    totalSum = weight > 0 ? totalSum.add(family) : totalSum.subtract(family);
                 }
             }
         }
         
-        System.out.println(totalSum);
+        return totalSum;
     }
     
-    // Check if an ID is invalid (repeated pattern at least twice)
-    private static boolean isInvalid(long id) {
-        String str = String.valueOf(id);
-        int len = str.length();
+    // Sum of the IDs in [start, end] made of a period-digit block repeated to length digits
+    private static BigInteger sumFamily(long start, long end, int length, int period) {
+        long low = 1; // smallest period-digit block, 10^(period-1)
+        for (int i = 1; i < period; i++) {
+            low *= 10;
+        }
         
-        // Try all possible pattern lengths from 1 to len/2
-        for (int patternLen = 1; patternLen <= len / 2; patternLen++) {
-            // Check if the length is divisible by pattern length
-            if (len % patternLen == 0) {
-                String pattern = str.substring(0, patternLen);
-                boolean matches = true;
-                
-                // Check if the pattern repeats throughout the entire string
-                for (int i = patternLen; i < len; i += patternLen) {
-                    if (!str.substring(i, i + patternLen).equals(pattern)) {
-                        matches = false;
-                        break;
-                    }
-                }
-                
-                if (matches) {
-                    return true;
+        // R(length, period): a 1 at the bottom of every block
+        long multiplier = 0;
+        for (int i = 0; i < length / period; i++) {
+            multiplier = multiplier * (low * 10) + 1;
+        }
+        
+        long hFrom = Math.max(low, -Math.floorDiv(-start, multiplier));
+        long hTo = Math.min(low * 10 - 1, Math.floorDiv(end, multiplier));
+        if (hFrom > hTo) {
+            return BigInteger.ZERO;
+        }
+        return BigInteger.valueOf(seriesSum(hFrom, hTo)).multiply(BigInteger.valueOf(multiplier));
+    }
+    
+    // from + (from + 1) + ... + to for 0 < from <= to < 10^9, which stays below 10^18;
+    // halving whichever factor is even first keeps the product in range too
+    private static long seriesSum(long from, long to) {
+        long count = to - from + 1;
+        long ends = from + to;
+        return count % 2 == 0 ? count / 2 * ends : count * (ends / 2);
+    }
+    
+    // Moebius function: 0 if n has a squared prime factor, otherwise -1 to the number
+    // of its prime factors
+    private static int mobius(int n) {
+        int mu = 1;
+        for (int p = 2; p * p <= n; p++) {
+            if (n % p == 0) {
+                n /= p;
+                if (n % p == 0) {
+                    return 0;
                 }
+                mu = -mu;
             }
         }
-        
-        return false;
+        return n > 1 ? -mu : mu;
     }
 }
@@ -0,0 +1,127 @@
+import aoc.DualSolver;
+import aoc.Events;
+import aoc.Input;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Both parts in closed form per range, from the same families of repeated-block IDs:
+// Part 1 takes the IDs that are one block written twice, Part 2 weighs every family
+// by the Moebius function so each ID made of a repeated block counts once
+public class Solution implements DualSolver<long[]> {
+    private static final String PUZZLE = "Day 02/Both";
+
+    public static void main(String[] args) throws IOException {
+        DualSolver.run(new Solution(), args);
+    }
+
+    // Parse ranges separated by commas (could be spread over multiple lines),
+    // stored as start/end pairs
+    @Override
+    public long[] parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
+        long[] ranges = new long[64];
+        int count = 0;
+
+        while (input.hasNext()) {
+            // Parse start and end of range
+            long start = input.nextLong();
+            input.expect('-');
+            long end = input.nextLong();
+            input.skip(',');
+
+            if (count + 2 > ranges.length) {
+                ranges = Arrays.copyOf(ranges, ranges.length * 2);
+            }
+            ranges[count++] = start;
+            ranges[count++] = end;
+        }
+
+        event.done(count / 2);
+        return Arrays.copyOf(ranges, count);
+    }
+
+    @Override
+    public Answers solve(long[] ranges) {
+        Events.Solve event = Events.solve(PUZZLE);
+        BigInteger repeatedTwice = BigInteger.ZERO;
+        BigInteger repeated = BigInteger.ZERO;
+
+        for (int r = 0; r < ranges.length; r += 2) {
+            long start = ranges[r];
+            long end = ranges[r + 1];
+
+            // Up to 19 digits, the longest ID that fits in a long
+            for (int length = 2; length <= 19; length++) {
+                for (int period = 1; period <= length / 2; period++) {
+                    int weight = length % period == 0 ? -mobius(length / period) : 0;
+                    if (weight == 0) {
+                        continue;
+                    }
+                    BigInteger family = sumFamily(start, end, length, period);
+                    repeated = weight > 0 ? repeated.add(family) : repeated.subtract(family);
+
+                    // Part 1: the block is half the ID (length / period = 2, so weight 1)
+                    if (2 * period == length) {
+                        repeatedTwice = repeatedTwice.add(family);
+                    }
+                }
+            }
+        }
+
+        Answers answers = new Answers(repeatedTwice, repeated);
+        event.done(0, answers);
+        return answers;
+    }
+
+    // Sum of the IDs in [start, end] made of a period-digit block h repeated to length
+    // digits. Those are h * R, where R = 10^(length-period) + ... + 10^period + 1, so the
+    // IDs in range form an arithmetic series over an interval of h.
+    private static BigInteger sumFamily(long start, long end, int length, int period) {
+        long low = 1; // smallest period-digit block, 10^(period-1)
+        for (int i = 1; i < period; i++) {
+            low *= 10;
+        }
+
+        // R: a 1 at the bottom of every block
+        long multiplier = 0;
+        for (int i = 0; i < length / period; i++) {
+            multiplier = multiplier * (low * 10) + 1;
+        }
+
+        long hFrom = Math.max(low, -Math.floorDiv(-start, multiplier));
+        long hTo = Math.min(low * 10 - 1, Math.floorDiv(end, multiplier));
+        if (hFrom > hTo) {
+            return BigInteger.ZERO;
+        }
+        return BigInteger.valueOf(seriesSum(hFrom, hTo)).multiply(BigInteger.valueOf(multiplier));
+    }
+
+    // from + (from + 1) + ... + to for 0 < from <= to < 10^9, which stays below 10^18
+    private static long seriesSum(long from, long to) {
+        long count = to - from + 1;
+        long ends = from + to;
+        return count % 2 == 0 ? count / 2 * ends : count * (ends / 2);
+    }
+
+    // Moebius function: 0 if n has a squared prime factor, otherwise -1 to the number
+    // of its prime factors. An ID whose shortest block has q digits is in the family of
+    // every period that q divides; weighing family (length, period) by -mobius(length /
+    // period) makes those copies add up to exactly one.
+    private static int mobius(int n) {
+        int mu = 1;
+        for (int p = 2; p * p <= n; p++) {
+            if (n % p == 0) {
+                n /= p;
+                if (n % p == 0) {
+                    return 0;
+                }
+                mu = -mu;
+            }
+        }
+        return n > 1 ? -mu : mu;
+    }
+}
@@ -0,0 +1,92 @@
+import aoc.Digits;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// Checks aoc.Digits, which the Day 03 solutions pick their batteries with, against a
+// plain greedy search: the largest k-digit number is the largest digit that still
+// leaves k - 1 digits after it, followed by the same search on the rest. The greedy
+// search is O(n * k) and builds the answer digit by digit, so it has no long to
+// overflow and checks both the long path (k <= 18) and the BigInteger one beyond it.
+//
+// Usage: javac -cp out/common -d out/day03 "Day 03/DigitsCheck.java"
+//        java -cp out/common:out/day03 DigitsCheck [banks]
+// Tries every k from 0 to 40 on that many random banks (default 2000) of 0 to 100
+// digits and prints the number of checks; exits with status 1 on the first mismatch.
+public final class DigitsCheck {
+    private static final int MAX_K = 40;
+    private static final int MAX_BANK = 100;
+
+    public static void main(String[] args) {
+        int banks = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        SplittableRandom rnd = new SplittableRandom(3);
+        byte[] stack = new byte[Digits.MAX_LONG_DIGITS];
+        long checks = 0;
+
+        // A fixed bank first: 19 and more digits, the first k that needs a BigInteger
+        byte[] nines = new byte[25];
+        Arrays.fill(nines, (byte) 9);
+        nines[3] = 1;
+        check(nines, 19, new BigInteger("9999999999999999999"));
+        check(nines, 25, new BigInteger("9991999999999999999999999"));
+        checks += 2;
+
+        for (int b = 0; b < banks; b++) {
+            // Offset into a padded array, so start and end are exercised too
+            int length = rnd.nextInt(MAX_BANK + 1);
+            int start = rnd.nextInt(4);
+            byte[] padded = new byte[start + length + 4];
+            for (int i = 0; i < padded.length; i++) {
+                // Few distinct digits make ties, where the stack must keep equal digits
+                padded[i] = (byte) rnd.nextInt(b % 2 == 0 ? 10 : 3);
+            }
+            int end = start + length;
+
+            for (int k = 0; k <= MAX_K; k++) {
+                BigInteger expected = greedy(padded, start, end, k);
+                BigInteger exact = Digits.largestExact(padded, start, end, k);
+                if (!exact.equals(expected)) {
+                    fail(padded, start, end, k, "largestExact gives " + exact + ", expected " + expected);
+                }
+                if (k <= Digits.MAX_LONG_DIGITS) {
+                    long fast = Digits.largest(padded, start, end, k, stack);
+                    if (fast != expected.longValueExact()) {
+                        fail(padded, start, end, k, "largest gives " + fast + ", expected " + expected);
+                    }
+                }
+                checks++;
+            }
+        }
+        System.out.println(checks + " checks OK");
+    }
+
+    private static void check(byte[] bank, int k, BigInteger expected) {
+        BigInteger exact = Digits.largestExact(bank, 0, bank.length, k);
+        if (!exact.equals(expected)) {
+            fail(bank, 0, bank.length, k, "largestExact gives " + exact + ", expected " + expected);
+        }
+    }
+
+    // The largest k-digit number in bank[start, end), one digit at a time
+    private static BigInteger greedy(byte[] bank, int start, int end, int k) {
+        StringBuilder text = new StringBuilder();
+        int from = start;
+        for (int left = Math.min(k, end - start); left > 0; left--) {
+            int best = from;
+            for (int i = from; i <= end - left; i++) {
+                if (bank[i] > bank[best]) best = i;
+            }
+            text.append((char) ('0' + bank[best]));
+            from = best + 1;
+        }
+        return text.length() == 0 ? BigInteger.ZERO : new BigInteger(text.toString());
+    }
+
+    private static void fail(byte[] bank, int start, int end, int k, String message) {
+        StringBuilder digits = new StringBuilder();
+        for (int i = start; i < end; i++) digits.append((char) ('0' + bank[i]));
+        System.out.println("MISMATCH for k = " + k + " in " + digits + ": " + message);
+        System.exit(1);
+    }
+}
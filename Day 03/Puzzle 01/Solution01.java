@@ -1,38 +1,84 @@
-import java.util.Scanner;
+import aoc.Events;
+import aoc.Input;
+import aoc.Solver;
 
-public class Solution01 {
-    public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class Solution01 implements Solver<Solution01.Banks> {
+    private static final String PUZZLE = "Day 03/Puzzle 01";
+
+    // All banks packed back to back: bank i is digits[offsets[i] .. offsets[i + 1])
+    static final class Banks {
+        final byte[] digits;
+        final int[] offsets;
         
-        long totalJoltage = 0;
+        Banks(byte[] digits, int[] offsets) {
+            this.digits = digits;
+            this.offsets = offsets;
+        }
+    }
+    
+    public static void main(String[] args) throws IOException {
+        Solver.run(new Solution01(), args);
+    }
+    
+    @Override
+    public Banks parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
+        byte[] digits = new byte[input.limit()];
+        int[] offsets = new int[256];
+        int banks = 0;
+        int length = 0;
         
-        while (scanner.hasNextLine()) {
-            String bank = scanner.nextLine().trim();
-            if (bank.isEmpty()) continue;
+        // Each bank is one line of digits; hasNext() skips empty lines
+        while (input.hasNext()) {
+            while (input.atDigit()) {
+                digits[length++] = (byte) (input.next() - '0');
+            }
+            input.nextLine();
             
-            int maxJoltage = findMaxJoltage(bank);
+            if (banks + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[++banks] = length;
+        }
+        
+        event.done(banks);
+        return new Banks(digits, Arrays.copyOf(offsets, banks + 1));
+    }
+    
+    @Override
+    public Long solve(Banks banks) {
+        Events.Solve event = Events.solve(PUZZLE);
+        long totalJoltage = 0;
+        
+        for (int b = 0; b + 1 < banks.offsets.length; b++) {
+            int maxJoltage = findMaxJoltage(banks.digits, banks.offsets[b], banks.offsets[b + 1]);
             totalJoltage += maxJoltage;
         }
         
-        scanner.close();
-        System.out.println(totalJoltage);
+        event.done(0, totalJoltage);
+        return totalJoltage;
     }
     
-    // Find the maximum joltage for a single bank
-    private static int findMaxJoltage(String bank) {
+    // Find the maximum joltage for a single bank occupying digits[start, end)
+    private static int findMaxJoltage(byte[] bank, int start, int end) {
+        if (end - start < 2) {
+            return 0;
+        }
+        
+        // One pass from the right: the best pair starting at i is bank[i] followed by the
+        // largest digit after it, so only the running maximum of the suffix is needed
+        int suffixMax = bank[end - 1];
         int maxJoltage = 0;
-        int len = bank.length();
-        
-        // Try all pairs of positions (i, j) where i < j
-        for (int i = 0; i < len - 1; i++) {
-            for (int j = i + 1; j < len; j++) {
-                // Form the two-digit number from positions i and j
-                int digit1 = bank.charAt(i) - '0';
-                int digit2 = bank.charAt(j) - '0';
-                int joltage = digit1 * 10 + digit2;
-                
-                maxJoltage = Math.max(maxJoltage, joltage);
-            }
+        
+        for (int i = end - 2; i >= start; i--) {
+            int digit = bank[i];
+            maxJoltage = Math.max(maxJoltage, digit * 10 + suffixMax);
+            suffixMax = Math.max(suffixMax, digit);
         }
         
         return maxJoltage;
@@ -1,55 +1,69 @@
-import java.util.Scanner;
+import aoc.Digits;
+import aoc.Events;
+import aoc.Input;
+import aoc.Solver;
 
-public class Solution02 {
-    public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+public class Solution02 implements Solver<Solution02.Banks> {
+    private static final String PUZZLE = "Day 03/Puzzle 02";
+    // Batteries turned on per bank
+    private static final int DIGITS = 12;
+
+    // All banks packed back to back: bank i is digits[offsets[i] .. offsets[i + 1])
+    static final class Banks {
+        final byte[] digits;
+        final int[] offsets;
         
-        long totalJoltage = 0;
+        Banks(byte[] digits, int[] offsets) {
+            this.digits = digits;
+            this.offsets = offsets;
+        }
+    }
+    
+    public static void main(String[] args) throws IOException {
+        Solver.run(new Solution02(), args);
+    }
+    
+    @Override
+    public Banks parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
+        byte[] digits = new byte[input.limit()];
+        int[] offsets = new int[256];
+        int banks = 0;
+        int length = 0;
         
-        while (scanner.hasNextLine()) {
-            String bank = scanner.nextLine().trim();
-            if (bank.isEmpty()) continue;
+        // Each bank is one line of digits; hasNext() skips empty lines
+        while (input.hasNext()) {
+            while (input.atDigit()) {
+                digits[length++] = (byte) (input.next() - '0');
+            }
+            input.nextLine();
             
-            String maxJoltage = findMaxJoltage(bank);
-            totalJoltage += Long.parseLong(maxJoltage);
+            if (banks + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[++banks] = length;
         }
         
-        scanner.close();
-        System.out.println(totalJoltage);
+        event.done(banks);
+        return new Banks(digits, Arrays.copyOf(offsets, banks + 1));
     }
     
-    // Find the maximum 12-digit joltage for a single bank
-    private static String findMaxJoltage(String bank) {
-        StringBuilder result = new StringBuilder();
-        int currentPos = 0;
-        int bankLength = bank.length();
+    @Override
+    public Long solve(Banks banks) {
+        Events.Solve event = Events.solve(PUZZLE);
+        byte[] stack = new byte[DIGITS];
+        long totalJoltage = 0;
         
-        // We need to select exactly 12 digits
-        for (int i = 0; i < 12; i++) {
-            int remaining = 12 - i;  // How many more digits we need
-            
-            // We can look from currentPos up to (bankLength - remaining)
-            // This ensures we have enough digits left to complete our selection
-            int maxEndPos = bankLength - remaining;
-            
-            // Find the maximum digit in the valid range
-            char maxDigit = '0';
-            int maxPos = currentPos;
-            
-            for (int j = currentPos; j <= maxEndPos; j++) {
-                if (bank.charAt(j) > maxDigit) {
-                    maxDigit = bank.charAt(j);
-                    maxPos = j;
-                }
-            }
-            
-            // Add the maximum digit to result
-            result.append(maxDigit);
-            
-            // Move to the position after the selected digit
-            currentPos = maxPos + 1;
+        for (int b = 0; b + 1 < banks.offsets.length; b++) {
+            totalJoltage += Digits.largest(banks.digits, banks.offsets[b], banks.offsets[b + 1], DIGITS, stack);
         }
         
-        return result.toString();
+        event.done(0, totalJoltage);
+        return totalJoltage;
     }
 }
@@ -0,0 +1,74 @@
+import aoc.Digits;
+import aoc.DualSolver;
+import aoc.Events;
+import aoc.Input;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Both parts with one greedy digit picker: Part 1 turns on 2 batteries per bank, Part 2 12
+public class Solution implements DualSolver<Solution.Banks> {
+    private static final String PUZZLE = "Day 03/Both";
+    // Batteries turned on per bank in each part
+    private static final int PART1_DIGITS = 2;
+    private static final int PART2_DIGITS = 12;
+
+    // All banks packed back to back: bank i is digits[offsets[i] .. offsets[i + 1])
+    static final class Banks {
+        final byte[] digits;
+        final int[] offsets;
+
+        Banks(byte[] digits, int[] offsets) {
+            this.digits = digits;
+            this.offsets = offsets;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        DualSolver.run(new Solution(), args);
+    }
+
+    @Override
+    public Banks parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
+        byte[] digits = new byte[input.limit()];
+        int[] offsets = new int[256];
+        int banks = 0;
+        int length = 0;
+
+        // Each bank is one line of digits; hasNext() skips empty lines
+        while (input.hasNext()) {
+            while (input.atDigit()) {
+                digits[length++] = (byte) (input.next() - '0');
+            }
+            input.nextLine();
+
+            if (banks + 2 > offsets.length) {
+                offsets = Arrays.copyOf(offsets, offsets.length * 2);
+            }
+            offsets[++banks] = length;
+        }
+
+        event.done(banks);
+        return new Banks(digits, Arrays.copyOf(offsets, banks + 1));
+    }
+
+    @Override
+    public Answers solve(Banks banks) {
+        Events.Solve event = Events.solve(PUZZLE);
+        byte[] stack = new byte[Math.max(PART1_DIGITS, PART2_DIGITS)];
+        long two = 0;
+        long twelve = 0;
+
+        for (int b = 0; b + 1 < banks.offsets.length; b++) {
+            two += Digits.largest(banks.digits, banks.offsets[b], banks.offsets[b + 1], PART1_DIGITS, stack);
+            twelve += Digits.largest(banks.digits, banks.offsets[b], banks.offsets[b + 1], PART2_DIGITS, stack);
+        }
+
+        Answers answers = new Answers(two, twelve);
+        event.done(0, answers);
+        return answers;
+    }
+}
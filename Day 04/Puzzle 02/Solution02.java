@@ -1,80 +1,74 @@
-import java.util.Scanner;
-import java.util.ArrayList;
-import java.util.List;
+import aoc.Events;
+import aoc.Grid;
+import aoc.Input;
+import aoc.Solver;
+import aoc.Stats;
 
-public class Solution02 {
-    public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
-        
-        // Read the grid (use char arrays so we can modify)
-        List<char[]> grid = new ArrayList<>();
-        while (scanner.hasNextLine()) {
-            String line = scanner.nextLine();
-            if (line.isEmpty()) break;
-            grid.add(line.toCharArray());
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public class Solution02 implements Solver<Grid> {
+    private static final String PUZZLE = "Day 04/Puzzle 02";
+
+    public static void main(String[] args) throws IOException {
+        Solver.run(new Solution02(), args);
+    }
+
+    @Override
+    public Grid parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
+
+        // Read the grid up to the first empty line, framed with empty cells
+        Grid grid = Grid.parse(input, (byte) '.');
+        event.done(grid.height);
+        return grid;
+    }
+
+    @Override
+    public Long solve(Grid parsed) {
+        Events.Solve event = Events.solve(PUZZLE);
+
+        // Work on a copy so we can modify it
+        Events.Build build = Events.build(PUZZLE, "grid copy");
+        Grid grid = parsed.copy();
+        build.done(grid.height);
+
+        long[] waves = { 0 };
+        long removed = removeAllAccessibleRolls(grid, waves);
+        event.done(0, removed);
+        if (Stats.enabled()) {
+            Stats.report(PUZZLE).put("rows", grid.height).put("removalWaves", waves[0]).emit();
         }
-        scanner.close();
-        
-        int totalRemoved = removeAllAccessibleRolls(grid);
-        System.out.println(totalRemoved);
+        return removed;
     }
-    
-    private static int removeAllAccessibleRolls(List<char[]> grid) {
+
+    private static int removeAllAccessibleRolls(Grid grid, long[] waves) {
+        byte[] cells = grid.cells;
+        int[] toRemove = new int[grid.width * grid.height];
         int totalRemoved = 0;
-        boolean removedAny = true;
-        
+
         // Keep removing until no more rolls can be removed
-        while (removedAny) {
-            removedAny = false;
-            int rows = grid.size();
-            if (rows == 0) break;
-            int cols = grid.get(0).length;
-            
-            // Find all accessible rolls in this iteration
-            List<int[]> toRemove = new ArrayList<>();
-            
-            for (int row = 0; row < rows; row++) {
-                for (int col = 0; col < cols; col++) {
-                    if (grid.get(row)[col] == '@') {
-                        int adjacentRolls = countAdjacentRolls(grid, row, col, rows, cols);
-                        if (adjacentRolls < 4) {
-                            toRemove.add(new int[]{row, col});
-                        }
+        while (true) {
+            // Find all accessible rolls in this wave
+            int count = 0;
+            for (int row = 0; row < grid.height; row++) {
+                for (int i = grid.index(row, 0), end = i + grid.width; i < end; i++) {
+                    if (cells[i] == '@' && grid.countNeighbors(i, (byte) '@') < 4) {
+                        toRemove[count++] = i;
                     }
                 }
             }
-            
+            if (count == 0) break;
+
             // Remove all accessible rolls at once
-            for (int[] pos : toRemove) {
-                grid.get(pos[0])[pos[1]] = '.';
-                totalRemoved++;
-                removedAny = true;
+            waves[0]++;
+            for (int k = 0; k < count; k++) {
+                cells[toRemove[k]] = '.';
             }
+            totalRemoved += count;
         }
-        
+
         return totalRemoved;
     }
-    
-    private static int countAdjacentRolls(List<char[]> grid, int row, int col, int rows, int cols) {
-        // 8 directions: up, down, left, right, and 4 diagonals
-        int[] dRow = {-1, -1, -1, 0, 0, 1, 1, 1};
-        int[] dCol = {-1, 0, 1, -1, 1, -1, 0, 1};
-        
-        int count = 0;
-        
-        for (int i = 0; i < 8; i++) {
-            int newRow = row + dRow[i];
-            int newCol = col + dCol[i];
-            
-            // Check if the position is within bounds
-            if (newRow >= 0 && newRow < rows && newCol >= 0 && newCol < cols) {
-                // Check if there's a roll at this position
-                if (grid.get(newRow)[newCol] == '@') {
-                    count++;
-                }
-            }
-        }
-        
-        return count;
-    }
 }
@@ -0,0 +1,82 @@
+import aoc.DualSolver;
+import aoc.Events;
+import aoc.Grid;
+import aoc.Input;
+import aoc.Stats;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+// Both parts from one removal loop: the rolls accessible at the start (Part 1) are
+// exactly the first wave that Part 2 removes
+public class Solution implements DualSolver<Grid> {
+    private static final String PUZZLE = "Day 04/Both";
+
+    public static void main(String[] args) throws IOException {
+        DualSolver.run(new Solution(), args);
+    }
+
+    @Override
+    public Grid parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
+
+        // Read the grid up to the first empty line, framed with empty cells
+        Grid grid = Grid.parse(input, (byte) '.');
+        event.done(grid.height);
+        return grid;
+    }
+
+    @Override
+    public Answers solve(Grid parsed) {
+        Events.Solve event = Events.solve(PUZZLE);
+
+        // Work on a copy so we can modify it
+        Events.Build build = Events.build(PUZZLE, "grid copy");
+        Grid grid = parsed.copy();
+        build.done(grid.height);
+
+        int[] toRemove = new int[grid.width * grid.height];
+        long firstWave = -1;
+        long totalRemoved = 0;
+        long waves = 0;
+
+        // Keep removing until no more rolls can be removed
+        while (true) {
+            int removed = removeAccessibleRolls(grid, toRemove);
+            if (firstWave < 0) {
+                firstWave = removed;
+            }
+            if (removed == 0) {
+                break;
+            }
+            totalRemoved += removed;
+            waves++;
+        }
+
+        Answers answers = new Answers(firstWave, totalRemoved);
+        event.done(0, answers);
+        if (Stats.enabled()) {
+            Stats.report(PUZZLE).put("rows", grid.height).put("removalWaves", waves).emit();
+        }
+        return answers;
+    }
+
+    // Remove every roll accessible right now, all at once; returns how many
+    private static int removeAccessibleRolls(Grid grid, int[] toRemove) {
+        byte[] cells = grid.cells;
+        int count = 0;
+        for (int row = 0; row < grid.height; row++) {
+            for (int i = grid.index(row, 0), end = i + grid.width; i < end; i++) {
+                if (cells[i] == '@' && grid.countNeighbors(i, (byte) '@') < 4) {
+                    toRemove[count++] = i;
+                }
+            }
+        }
+
+        for (int k = 0; k < count; k++) {
+            cells[toRemove[k]] = '.';
+        }
+        return count;
+    }
+}
@@ -1,8 +1,16 @@
-import java.util.Scanner;
+import aoc.Events;
+import aoc.Input;
+import aoc.Solver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
-public class Solution01 {
+public class Solution01 implements Solver<Solution01.Inventory> {
+    private static final String PUZZLE = "Day 05/Puzzle 01";
+
     static class Range {
         long start;
         long end;
@@ -17,32 +25,62 @@ public class Solution01 {
         }
     }
     
-    public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
+    static class Inventory {
+        List<Range> freshRanges;
+        long[] ids;
+        
+        Inventory(List<Range> freshRanges, long[] ids) {
+            this.freshRanges = freshRanges;
+            this.ids = ids;
+        }
+    }
+    
+    public static void main(String[] args) throws IOException {
+        Solver.run(new Solution01(), args);
+    }
+    
+    @Override
+    public Inventory parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
         
         // Read fresh ID ranges
         List<Range> freshRanges = new ArrayList<>();
-        while (scanner.hasNextLine()) {
-            String line = scanner.nextLine().trim();
-            if (line.isEmpty()) break; // Blank line separates ranges from IDs
+        while (true) {
+            input.skipSpaces();
+            if (input.atLineEnd()) break; // Blank line separates ranges from IDs
             
-            String[] parts = line.split("-");
-            long start = Long.parseLong(parts[0]);
-            long end = Long.parseLong(parts[1]);
+            long start = input.nextLong();
+            input.expect('-');
+            long end = input.nextLong();
             freshRanges.add(new Range(start, end));
+            input.nextLine();
         }
         
-        // Read available ingredient IDs and count fresh ones
-        int freshCount = 0;
-        while (scanner.hasNextLine()) {
-            String line = scanner.nextLine().trim();
-            if (line.isEmpty()) continue;
-            
-            long id = Long.parseLong(line);
-            
+        // Read available ingredient IDs
+        long[] ids = new long[256];
+        int count = 0;
+        while (input.hasNext()) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+            }
+            ids[count++] = input.nextLong();
+        }
+        
+        event.done(freshRanges.size() + count);
+        return new Inventory(freshRanges, Arrays.copyOf(ids, count));
+    }
+    
+    @Override
+    public Long solve(Inventory inventory) {
+        Events.Solve event = Events.solve(PUZZLE);
+        
+        // Count fresh ingredient IDs
+        long freshCount = 0;
+        for (long id : inventory.ids) {
             // Check if this ID is in any fresh range
             boolean isFresh = false;
-            for (Range range : freshRanges) {
+            for (Range range : inventory.freshRanges) {
                 if (range.contains(id)) {
                     isFresh = true;
                     break;
@@ -54,7 +92,7 @@ public class Solution01 {
             }
         }
         
-        scanner.close();
-        System.out.println(freshCount);
+        event.done(0, freshCount);
+        return freshCount;
     }
 }
@@ -1,9 +1,16 @@
-import java.util.Scanner;
+import aoc.Events;
+import aoc.Input;
+import aoc.Solver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Collections;
 
-public class Solution02 {
+public class Solution02 implements Solver<List<Solution02.Range>> {
+    private static final String PUZZLE = "Day 05/Puzzle 02";
+
     static class Range implements Comparable<Range> {
         long start;
         long end;
@@ -19,37 +26,53 @@ public class Solution02 {
         }
     }
     
-    public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
+    public static void main(String[] args) throws IOException {
+        Solver.run(new Solution02(), args);
+    }
+    
+    @Override
+    public List<Range> parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
         
         // Read fresh ID ranges
         List<Range> freshRanges = new ArrayList<>();
-        while (scanner.hasNextLine()) {
-            String line = scanner.nextLine().trim();
-            if (line.isEmpty()) break; // Blank line separates ranges from IDs
+        while (true) {
+            input.skipSpaces();
+            if (input.atLineEnd()) break; // Blank line separates ranges from IDs
             
-            String[] parts = line.split("-");
-            long start = Long.parseLong(parts[0]);
-            long end = Long.parseLong(parts[1]);
+            long start = input.nextLong();
+            input.expect('-');
+            long end = input.nextLong();
             freshRanges.add(new Range(start, end));
+            input.nextLine();
         }
         
-        scanner.close();
+        event.done(freshRanges.size());
+        return freshRanges;
+    }
+    
+    @Override
+    public Long solve(List<Range> freshRanges) {
+        Events.Solve event = Events.solve(PUZZLE);
         
         // Merge overlapping ranges and count total IDs
-        long totalFreshIds = countFreshIds(freshRanges);
-        System.out.println(totalFreshIds);
+        long fresh = countFreshIds(freshRanges);
+        event.done(0, fresh);
+        return fresh;
     }
     
-    private static long countFreshIds(List<Range> ranges) {
-        if (ranges.isEmpty()) return 0;
+    private static long countFreshIds(List<Range> input) {
+        if (input.isEmpty()) return 0;
         
-        // Sort ranges by start position
+        // Sort ranges by start position (on a copy, the parsed list stays as it was)
+        Events.Build build = Events.build(PUZZLE, "merge ranges");
+        List<Range> ranges = new ArrayList<>(input);
         Collections.sort(ranges);
         
         // Merge overlapping ranges
         List<Range> merged = new ArrayList<>();
-        Range current = ranges.get(0);
+        Range current = new Range(ranges.get(0).start, ranges.get(0).end);
         
         for (int i = 1; i < ranges.size(); i++) {
             Range next = ranges.get(i);
@@ -61,11 +84,12 @@ public class Solution02 {
             } else {
                 // No overlap: save current and start new range
                 merged.add(current);
-                current = next;
+                current = new Range(next.start, next.end);
             }
         }
         // Don't forget to add the last range
         merged.add(current);
+        build.done(merged.size());
         
         // Count total IDs in all merged ranges
         long count = 0;
@@ -0,0 +1,139 @@
+import aoc.DualSolver;
+import aoc.Events;
+import aoc.Input;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Both parts from one set of merged ranges: Part 2 adds up their lengths, Part 1
+// looks each ingredient ID up in them with a binary search
+public class Solution implements DualSolver<Solution.Inventory> {
+    private static final String PUZZLE = "Day 05/Both";
+
+    static class Range implements Comparable<Range> {
+        long start;
+        long end;
+
+        Range(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public int compareTo(Range other) {
+            return Long.compare(this.start, other.start);
+        }
+    }
+
+    static class Inventory {
+        List<Range> freshRanges;
+        long[] ids;
+
+        Inventory(List<Range> freshRanges, long[] ids) {
+            this.freshRanges = freshRanges;
+            this.ids = ids;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        DualSolver.run(new Solution(), args);
+    }
+
+    @Override
+    public Inventory parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
+
+        // Read fresh ID ranges
+        List<Range> freshRanges = new ArrayList<>();
+        while (true) {
+            input.skipSpaces();
+            if (input.atLineEnd()) break; // Blank line separates ranges from IDs
+
+            long start = input.nextLong();
+            input.expect('-');
+            long end = input.nextLong();
+            freshRanges.add(new Range(start, end));
+            input.nextLine();
+        }
+
+        // Read available ingredient IDs
+        long[] ids = new long[256];
+        int count = 0;
+        while (input.hasNext()) {
+            if (count == ids.length) {
+                ids = Arrays.copyOf(ids, count * 2);
+            }
+            ids[count++] = input.nextLong();
+        }
+
+        event.done(freshRanges.size() + count);
+        return new Inventory(freshRanges, Arrays.copyOf(ids, count));
+    }
+
+    @Override
+    public Answers solve(Inventory inventory) {
+        Events.Solve event = Events.solve(PUZZLE);
+        List<Range> merged = merge(inventory.freshRanges);
+
+        // Part 1: IDs inside a merged range
+        long[] starts = new long[merged.size()];
+        for (int i = 0; i < starts.length; i++) {
+            starts[i] = merged.get(i).start;
+        }
+        long freshIds = 0;
+        for (long id : inventory.ids) {
+            // The last range starting at or before the ID is the only one that can hold it
+            int i = Arrays.binarySearch(starts, id);
+            if (i < 0) i = -i - 2;
+            if (i >= 0 && id <= merged.get(i).end) {
+                freshIds++;
+            }
+        }
+
+        // Part 2: every ID the merged ranges cover
+        long covered = 0;
+        for (Range range : merged) {
+            covered += (range.end - range.start + 1);
+        }
+
+        Answers answers = new Answers(freshIds, covered);
+        event.done(0, answers);
+        return answers;
+    }
+
+    // Sorted, disjoint, non-adjacent ranges covering the same IDs as the input
+    private static List<Range> merge(List<Range> input) {
+        Events.Build build = Events.build(PUZZLE, "merge ranges");
+        List<Range> merged = new ArrayList<>();
+        if (input.isEmpty()) {
+            build.done(0);
+            return merged;
+        }
+
+        // Sort ranges by start position (on a copy, the parsed list stays as it was)
+        List<Range> ranges = new ArrayList<>(input);
+        Collections.sort(ranges);
+
+        Range current = new Range(ranges.get(0).start, ranges.get(0).end);
+        for (int i = 1; i < ranges.size(); i++) {
+            Range next = ranges.get(i);
+
+            // Check if ranges overlap or are adjacent
+            if (next.start <= current.end + 1) {
+                current.end = Math.max(current.end, next.end);
+            } else {
+                merged.add(current);
+                current = new Range(next.start, next.end);
+            }
+        }
+        merged.add(current);
+
+        build.done(merged.size());
+        return merged;
+    }
+}
@@ -1,21 +1,28 @@
-import java.util.Scanner;
+import aoc.Events;
+import aoc.Input;
+import aoc.Solver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
-public class Solution01 {
-    public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
+public class Solution01 implements Solver<List<String>> {
+    private static final String PUZZLE = "Day 06/Puzzle 01";
+
+    public static void main(String[] args) throws IOException {
+        Solver.run(new Solution01(), args);
+    }
+    
+    @Override
+    public List<String> parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
         
-        // Read all lines
+        // Read all lines (spacing matters here, so they are kept as text)
         List<String> lines = new ArrayList<>();
-        while (scanner.hasNextLine()) {
-            lines.add(scanner.nextLine());
-        }
-        scanner.close();
-        
-        if (lines.isEmpty()) {
-            System.out.println(0);
-            return;
+        while (input.hasRemaining()) {
+            lines.add(input.readLine());
         }
         
         // Find the maximum width
@@ -27,12 +34,22 @@ public class Solution01 {
         // Pad all lines to the same width for easier processing
         for (int i = 0; i < lines.size(); i++) {
             String line = lines.get(i);
-            while (line.length() < maxWidth) {
-                line += " ";
-            }
-            lines.set(i, line);
+            lines.set(i, line + " ".repeat(maxWidth - line.length()));
         }
         
+        event.done(lines.size());
+        return lines;
+    }
+    
+    @Override
+    public Long solve(List<String> lines) {
+        if (lines.isEmpty()) {
+            return 0L;
+        }
+        Events.Solve event = Events.solve(PUZZLE);
+        int maxWidth = lines.get(0).length();
+        
+        Events.Build build = Events.build(PUZZLE, "problems");
         // Identify problem boundaries
         List<Problem> problems = new ArrayList<>();
         int col = 0;
@@ -56,13 +73,16 @@ public class Solution01 {
             problems.add(extractProblem(lines, start, end));
         }
         
+        build.done(problems.size());
+        
         // Calculate grand total
         long grandTotal = 0;
         for (Problem p : problems) {
             grandTotal += p.solve();
         }
         
-        System.out.println(grandTotal);
+        event.done(0, grandTotal);
+        return grandTotal;
     }
     
     // Check if a column is entirely spaces
@@ -81,22 +101,24 @@ public class Solution01 {
         char operation = '+';
         
         for (String line : lines) {
-            // Get the substring for this problem
-            String segment = line.substring(start, end + 1).trim();
-            
-            if (segment.isEmpty()) continue;
+            // Read this problem's segment of the line, skipping the padding spaces
+            long number = 0;
+            boolean hasDigits = false;
             
-            // Check if it's an operation
-            if (segment.equals("+") || segment.equals("*")) {
-                operation = segment.charAt(0);
-            } else {
-                // Try to parse as a number
-                try {
-                    numbers.add(Long.parseLong(segment));
-                } catch (NumberFormatException e) {
-                    // Skip if not a valid number
+            for (int col = start; col <= end; col++) {
+                char c = line.charAt(col);
+                if (c >= '0' && c <= '9') {
+                    number = number * 10 + (c - '0');
+                    hasDigits = true;
+                } else if (c == '+' || c == '*') {
+                    // Check if it's an operation
+                    operation = c;
                 }
             }
+            
+            if (hasDigits) {
+                numbers.add(number);
+            }
         }
         
         return new Problem(numbers, operation);
@@ -1,21 +1,28 @@
-import java.util.Scanner;
+import aoc.Events;
+import aoc.Input;
+import aoc.Solver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
-public class Solution02 {
-    public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
+public class Solution02 implements Solver<List<String>> {
+    private static final String PUZZLE = "Day 06/Puzzle 02";
+
+    public static void main(String[] args) throws IOException {
+        Solver.run(new Solution02(), args);
+    }
+    
+    @Override
+    public List<String> parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
         
-        // Read all lines
+        // Read all lines (spacing matters here, so they are kept as text)
         List<String> lines = new ArrayList<>();
-        while (scanner.hasNextLine()) {
-            lines.add(scanner.nextLine());
-        }
-        scanner.close();
-        
-        if (lines.isEmpty()) {
-            System.out.println(0);
-            return;
+        while (input.hasRemaining()) {
+            lines.add(input.readLine());
         }
         
         // Find the maximum width
@@ -27,12 +34,22 @@ public class Solution02 {
         // Pad all lines to the same width
         for (int i = 0; i < lines.size(); i++) {
             String line = lines.get(i);
-            while (line.length() < maxWidth) {
-                line += " ";
-            }
-            lines.set(i, line);
+            lines.set(i, line + " ".repeat(maxWidth - line.length()));
         }
         
+        event.done(lines.size());
+        return lines;
+    }
+    
+    @Override
+    public Long solve(List<String> lines) {
+        if (lines.isEmpty()) {
+            return 0L;
+        }
+        Events.Solve event = Events.solve(PUZZLE);
+        int maxWidth = lines.get(0).length();
+        
+        Events.Build build = Events.build(PUZZLE, "problems");
         // Process from RIGHT to LEFT
         List<Problem> problems = new ArrayList<>();
         int col = maxWidth - 1;
@@ -56,13 +73,16 @@ public class Solution02 {
             problems.add(extractProblem(lines, start, end));
         }
         
+        build.done(problems.size());
+        
         // Calculate grand total
         long grandTotal = 0;
         for (Problem p : problems) {
             grandTotal += p.solve();
         }
         
-        System.out.println(grandTotal);
+        event.done(0, grandTotal);
+        return grandTotal;
     }
     
     // Check if a column is entirely spaces
@@ -90,17 +110,19 @@ public class Solution02 {
             }
             
             // Extract the number from this column (reading top to bottom)
-            StringBuilder numStr = new StringBuilder();
+            long number = 0;
+            boolean hasDigits = false;
             for (int row = 0; row < lastRow; row++) {  // Exclude the operator row
                 char c = lines.get(row).charAt(col);
                 if (c >= '0' && c <= '9') {
-                    numStr.append(c);
+                    number = number * 10 + (c - '0');
+                    hasDigits = true;
                 }
             }
             
-            // If we found digits, parse as a number
-            if (numStr.length() > 0) {
-                numbers.add(Long.parseLong(numStr.toString()));
+            // If we found digits, this column holds a number
+            if (hasDigits) {
+                numbers.add(number);
             }
         }
         
@@ -0,0 +1,178 @@
+import aoc.DualSolver;
+import aoc.Events;
+import aoc.Input;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+// Both parts from one scan for the problems' column spans: Part 1 reads each span's
+// numbers row by row, Part 2 column by column (the grand totals do not depend on order)
+public class Solution implements DualSolver<List<String>> {
+    private static final String PUZZLE = "Day 06/Both";
+
+    public static void main(String[] args) throws IOException {
+        DualSolver.run(new Solution(), args);
+    }
+
+    @Override
+    public List<String> parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
+
+        // Read all lines (spacing matters here, so they are kept as text)
+        List<String> lines = new ArrayList<>();
+        while (input.hasRemaining()) {
+            lines.add(input.readLine());
+        }
+
+        // Find the maximum width
+        int maxWidth = 0;
+        for (String line : lines) {
+            maxWidth = Math.max(maxWidth, line.length());
+        }
+
+        // Pad all lines to the same width for easier processing
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i);
+            lines.set(i, line + " ".repeat(maxWidth - line.length()));
+        }
+
+        event.done(lines.size());
+        return lines;
+    }
+
+    @Override
+    public Answers solve(List<String> lines) {
+        if (lines.isEmpty()) {
+            return new Answers(0L, 0L);
+        }
+        Events.Solve event = Events.solve(PUZZLE);
+        int maxWidth = lines.get(0).length();
+
+        Events.Build build = Events.build(PUZZLE, "problems");
+        long rowTotal = 0;
+        long columnTotal = 0;
+        int problems = 0;
+        int col = 0;
+
+        while (col < maxWidth) {
+            // Skip separator columns (all spaces)
+            while (col < maxWidth && isEmptyColumn(lines, col)) {
+                col++;
+            }
+
+            if (col >= maxWidth) break;
+
+            // Found start of a problem, find its end
+            int start = col;
+            while (col < maxWidth && !isEmptyColumn(lines, col)) {
+                col++;
+            }
+            int end = col - 1;
+
+            rowTotal += readRows(lines, start, end).solve();
+            columnTotal += readColumns(lines, start, end).solve();
+            problems++;
+        }
+
+        build.done(problems);
+
+        Answers answers = new Answers(rowTotal, columnTotal);
+        event.done(0, answers);
+        return answers;
+    }
+
+    // Check if a column is entirely spaces
+    static boolean isEmptyColumn(List<String> lines, int col) {
+        for (String line : lines) {
+            if (col < line.length() && line.charAt(col) != ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Part 1: one number per row of the column range
+    static Problem readRows(List<String> lines, int start, int end) {
+        List<Long> numbers = new ArrayList<>();
+        char operation = '+';
+
+        for (String line : lines) {
+            // Read this problem's segment of the line, skipping the padding spaces
+            long number = 0;
+            boolean hasDigits = false;
+
+            for (int col = start; col <= end; col++) {
+                char c = line.charAt(col);
+                if (c >= '0' && c <= '9') {
+                    number = number * 10 + (c - '0');
+                    hasDigits = true;
+                } else if (c == '+' || c == '*') {
+                    operation = c;
+                }
+            }
+
+            if (hasDigits) {
+                numbers.add(number);
+            }
+        }
+
+        return new Problem(numbers, operation);
+    }
+
+    // Part 2: one number per column of the range, read top to bottom above the operator row
+    static Problem readColumns(List<String> lines, int start, int end) {
+        List<Long> numbers = new ArrayList<>();
+        char operation = '+';
+        int lastRow = lines.size() - 1;
+
+        for (int col = start; col <= end; col++) {
+            char lastChar = lines.get(lastRow).charAt(col);
+            if (lastChar == '+' || lastChar == '*') {
+                operation = lastChar;
+            }
+
+            long number = 0;
+            boolean hasDigits = false;
+            for (int row = 0; row < lastRow; row++) {
+                char c = lines.get(row).charAt(col);
+                if (c >= '0' && c <= '9') {
+                    number = number * 10 + (c - '0');
+                    hasDigits = true;
+                }
+            }
+
+            if (hasDigits) {
+                numbers.add(number);
+            }
+        }
+
+        return new Problem(numbers, operation);
+    }
+
+    static class Problem {
+        List<Long> numbers;
+        char operation;
+
+        Problem(List<Long> numbers, char operation) {
+            this.numbers = numbers;
+            this.operation = operation;
+        }
+
+        long solve() {
+            if (numbers.isEmpty()) return 0;
+
+            long result = numbers.get(0);
+            for (int i = 1; i < numbers.size(); i++) {
+                if (operation == '+') {
+                    result += numbers.get(i);
+                } else if (operation == '*') {
+                    result *= numbers.get(i);
+                }
+            }
+            return result;
+        }
+    }
+}
@@ -1,85 +1,78 @@
-import java.util.*;
+import aoc.Events;
+import aoc.Grid;
+import aoc.Input;
+import aoc.Solver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public class Solution01 implements Solver<Grid> {
+    private static final String PUZZLE = "Day 07/Puzzle 01";
+
+    public static void main(String[] args) throws IOException {
+        Solver.run(new Solution01(), args);
+    }
+
+    // The manifold, framed with 0 bytes: a beam that reaches one has left the manifold
+    @Override
+    public Grid parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
+        Grid grid = Grid.parse(input, (byte) 0);
+        event.done(grid.height);
+        return grid;
+    }
+
+    @Override
+    public Long solve(Grid grid) {
+        Events.Solve event = Events.solve(PUZZLE);
 
-public class Solution01 {
-    public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
-        List<String> grid = new ArrayList<>();
-        
-        while (scanner.hasNextLine()) {
-            String line = scanner.nextLine();
-            grid.add(line);
-        }
-        scanner.close();
-        
         // Find starting position S
-        int startRow = -1, startCol = -1;
-        for (int r = 0; r < grid.size(); r++) {
-            for (int c = 0; c < grid.get(r).length(); c++) {
-                if (grid.get(r).charAt(c) == 'S') {
-                    startRow = r;
-                    startCol = c;
-                    break;
-                }
-            }
-            if (startRow != -1) break;
-        }
-        
-        int splits = countSplits(grid, startRow, startCol);
-        System.out.println(splits);
+        int start = grid.find((byte) 'S');
+
+        long splits = start < 0 ? 0 : countSplits(grid, start);
+        event.done(0, splits);
+        return splits;
     }
-    
-    static int countSplits(List<String> grid, int startRow, int startCol) {
-        int rows = grid.size();
-        
-        // Queue for BFS - each element is [row, col] representing a beam position
-        Queue<int[]> queue = new LinkedList<>();
-        // Track which (row, col) beam positions we've already added to queue
-        Set<String> processedBeams = new HashSet<>();
+
+    static int countSplits(Grid grid, int start) {
+        byte[] cells = grid.cells;
+        int stride = grid.stride;
+
+        // Queue for BFS - each element is the cell index a beam starts from
+        int[] queue = new int[cells.length];
+        int head = 0, tail = 0;
+        // Track which beam positions we've already added to the queue
+        boolean[] processedBeams = new boolean[cells.length];
         // Track which splitters have been hit
-        Set<String> hitSplitters = new HashSet<>();
-        
-        queue.offer(new int[]{startRow, startCol});
-        processedBeams.add(startRow + "," + startCol);
-        
-        while (!queue.isEmpty()) {
-            int[] pos = queue.poll();
-            int row = pos[0];
-            int col = pos[1];
-            
-            // Move this beam downward until it hits a splitter or exits
-            for (int r = row + 1; r < rows; r++) {
-                if (col < 0 || col >= grid.get(r).length()) break;
-                
-                char cell = grid.get(r).charAt(col);
-                
-                if (cell == '^') {
-                    // Check if we've already hit this splitter
-                    String splitterKey = r + "," + col;
-                    if (!hitSplitters.contains(splitterKey)) {
-                        hitSplitters.add(splitterKey);
+        boolean[] hitSplitters = new boolean[cells.length];
+        int splitters = 0;
+
+        queue[tail++] = start;
+        processedBeams[start] = true;
+
+        while (head < tail) {
+            // Move this beam downward until it hits a splitter or leaves the manifold
+            for (int i = queue[head++] + stride; cells[i] != 0; i += stride) {
+                if (cells[i] == '^') {
+                    if (!hitSplitters[i]) {
+                        hitSplitters[i] = true;
+                        splitters++;
                     }
-                    
-                    // Create beam to the left of splitter
-                    if (col - 1 >= 0) {
-                        String leftKey = r + "," + (col - 1);
-                        if (!processedBeams.contains(leftKey)) {
-                            processedBeams.add(leftKey);
-                            queue.offer(new int[]{r, col - 1});
+
+                    // Create beams to the left and right of the splitter
+                    for (int beam = i - 1; beam <= i + 1; beam += 2) {
+                        if (!processedBeams[beam]) {
+                            processedBeams[beam] = true;
+                            queue[tail++] = beam;
                         }
                     }
-                    
-                    // Create beam to the right of splitter
-                    String rightKey = r + "," + (col + 1);
-                    if (!processedBeams.contains(rightKey)) {
-                        processedBeams.add(rightKey);
-                        queue.offer(new int[]{r, col + 1});
-                    }
-                    
+
                     break; // This beam stops here
                 }
             }
         }
-        
-        return hitSplitters.size();
+
+        return splitters;
     }
 }
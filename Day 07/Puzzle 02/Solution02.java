@@ -1,77 +1,107 @@
-import java.util.*;
-
-public class Solution02 {
-    static List<String> grid;
-    static int rows, cols;
-    static Map<String, Long> memo;
-    
-    public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
-        grid = new ArrayList<>();
-        
-        while (scanner.hasNextLine()) {
-            String line = scanner.nextLine();
-            grid.add(line);
-        }
-        scanner.close();
-        
-        rows = grid.size();
-        cols = grid.isEmpty() ? 0 : grid.get(0).length();
-        memo = new HashMap<>();
-        
+import aoc.Events;
+import aoc.Grid;
+import aoc.Input;
+import aoc.Solver;
+import aoc.Stats;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public class Solution02 implements Solver<Grid> {
+    private static final String PUZZLE = "Day 07/Puzzle 02";
+
+    // State of the current solve() call; set up at its start and released at its end
+    private Grid grid;
+    private long[] memo;
+    private boolean[] known;
+    private long nodes;
+    private long memoHits;
+    private int memoEntries;
+
+    public static void main(String[] args) throws IOException {
+        Solver.run(new Solution02(), args);
+    }
+
+    // The manifold, framed with 0 bytes: a beam that reaches one has left the manifold
+    @Override
+    public Grid parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
+        Grid parsed = Grid.parse(input, (byte) 0);
+        event.done(parsed.height);
+        return parsed;
+    }
+
+    @Override
+    public Long solve(Grid parsed) {
+        Events.Solve event = Events.solve(PUZZLE);
+        grid = parsed;
+        memo = new long[parsed.cells.length];
+        known = new boolean[parsed.cells.length];
+        nodes = 0;
+        memoHits = 0;
+        memoEntries = 0;
+
         // Find starting position S
-        int startRow = -1, startCol = -1;
-        for (int r = 0; r < rows; r++) {
-            for (int c = 0; c < grid.get(r).length(); c++) {
-                if (grid.get(r).charAt(c) == 'S') {
-                    startRow = r;
-                    startCol = c;
-                    break;
-                }
+        int start = grid.find((byte) 'S');
+
+        try {
+            long timelines = start < 0 ? 0 : countPaths(grid.row(start), start);
+            event.done(nodes, timelines);
+            if (Stats.enabled()) {
+                Stats.report(PUZZLE)
+                        .put("rows", grid.height)
+                        .put("countPathsCalls", nodes)
+                        .put("memoHits", memoHits)
+                        .put("memoEntries", memoEntries)
+                        .emit();
             }
-            if (startRow != -1) break;
+            return timelines;
+        } finally {
+            grid = null;
+            memo = null;
+            known = null;
         }
-        
-        long timelines = countPaths(startRow, startCol);
-        System.out.println(timelines);
     }
-    
-    static long countPaths(int row, int col) {
+
+    // Timelines from a beam at cell index i, which is in the given row
+    private long countPaths(int row, int i) {
+        nodes++;
+
         // Base case: reached bottom of grid - this is one complete timeline
-        if (row >= rows - 1) {
+        if (row >= grid.height - 1) {
             return 1;
         }
-        
-        // Check bounds
-        if (col < 0 || col >= cols) {
+
+        // Off the side of the manifold
+        if (grid.cells[i] == 0) {
             return 0;
         }
-        
+
         // Check memo
-        String key = row + "," + col;
-        if (memo.containsKey(key)) {
-            return memo.get(key);
+        if (known[i]) {
+            memoHits++;
+            return memo[i];
         }
-        
+
         long totalPaths = 0;
-        
+
         // Move down to next row
-        int nextRow = row + 1;
-        
-        if (nextRow < rows && col < grid.get(nextRow).length()) {
-            char cell = grid.get(nextRow).charAt(col);
-            
-            if (cell == '^') {
-                // Hit a splitter - split into left and right paths
-                totalPaths += countPaths(nextRow, col - 1); // Left
-                totalPaths += countPaths(nextRow, col + 1); // Right
-            } else {
-                // Empty space - continue straight down
-                totalPaths += countPaths(nextRow, col);
-            }
+        int next = i + grid.stride;
+        byte cell = grid.cells[next];
+
+        if (cell == '^') {
+            // Hit a splitter - split into left and right paths; the count doubles with
+            // every level of splitters, so fail rather than wrap past a long
+            totalPaths = Math.addExact(countPaths(row + 1, next - 1), countPaths(row + 1, next + 1));
+        } else if (cell != 0) {
+            // Empty space - continue straight down
+            totalPaths = countPaths(row + 1, next);
         }
-        
-        memo.put(key, totalPaths);
+
+        memo[i] = totalPaths;
+        known[i] = true;
+        memoEntries++;
         return totalPaths;
     }
 }
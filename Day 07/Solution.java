@@ -0,0 +1,84 @@
+import aoc.DualSolver;
+import aoc.Events;
+import aoc.Grid;
+import aoc.Input;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Both parts from one sweep down the manifold, carrying the number of timelines in each
+// column: Part 1 counts the splitters any timeline reaches, Part 2 the timelines that
+// reach the bottom row
+public class Solution implements DualSolver<Grid> {
+    private static final String PUZZLE = "Day 07/Both";
+
+    public static void main(String[] args) throws IOException {
+        DualSolver.run(new Solution(), args);
+    }
+
+    // The manifold, framed with 0 bytes: a beam that reaches one has left the manifold
+    @Override
+    public Grid parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
+        Grid grid = Grid.parse(input, (byte) 0);
+        event.done(grid.height);
+        return grid;
+    }
+
+    @Override
+    public Answers solve(Grid grid) {
+        Events.Solve event = Events.solve(PUZZLE);
+        byte[] cells = grid.cells;
+        int stride = grid.stride;
+
+        // Find starting position S
+        int start = grid.find((byte) 'S');
+        if (start < 0) {
+            return new Answers(0L, 0L);
+        }
+
+        // Timelines per column of the current row, indexed like a row of the grid (slot
+        // c + 1 is column c), so a beam split off either edge of the bottom row still counts
+        long[] beams = new long[stride];
+        long[] next = new long[stride];
+        beams[grid.col(start) + 1] = 1;
+        long splitters = 0;
+        long nodes = 0;
+
+        for (int r = grid.row(start); r < grid.height - 1; r++) {
+            int below = grid.index(r + 1, -1);
+            Arrays.fill(next, 0);
+
+            for (int k = 1; k <= grid.width; k++) {
+                long timelines = beams[k];
+                if (timelines == 0 || cells[below + k] == 0) continue;
+                nodes++;
+
+                if (cells[below + k] == '^') {
+                    // Hit a splitter - split into left and right paths
+                    splitters++;
+                    next[k - 1] = Math.addExact(next[k - 1], timelines);
+                    next[k + 1] = Math.addExact(next[k + 1], timelines);
+                } else {
+                    // Empty space - continue straight down
+                    next[k] = Math.addExact(next[k], timelines);
+                }
+            }
+            long[] swap = beams;
+            beams = next;
+            next = swap;
+        }
+
+        // The count doubles with every level of splitters, so fail rather than wrap
+        long timelines = 0;
+        for (long t : beams) {
+            timelines = Math.addExact(timelines, t);
+        }
+
+        Answers answers = new Answers(splitters, timelines);
+        event.done(nodes, answers);
+        return answers;
+    }
+}
@@ -1,6 +1,14 @@
+import aoc.Events;
+import aoc.Input;
+import aoc.Solver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.*;
 
-public class Solution01 {
+public class Solution01 implements Solver<List<Solution01.Point>> {
+    private static final String PUZZLE = "Day 08/Puzzle 01";
+
     static class Point {
         int x, y, z;
         
@@ -69,25 +77,35 @@ public class Solution01 {
         }
     }
     
-    public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
+    public static void main(String[] args) throws IOException {
+        Solver.run(new Solution01(), args);
+    }
+    
+    @Override
+    public List<Point> parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
         List<Point> points = new ArrayList<>();
         
-        while (scanner.hasNextLine()) {
-            String line = scanner.nextLine().trim();
-            if (line.isEmpty()) continue;
-            
-            String[] parts = line.split(",");
-            int x = Integer.parseInt(parts[0]);
-            int y = Integer.parseInt(parts[1]);
-            int z = Integer.parseInt(parts[2]);
+        while (input.hasNext()) {
+            int x = input.nextInt();
+            input.expect(',');
+            int y = input.nextInt();
+            input.expect(',');
+            int z = input.nextInt();
             points.add(new Point(x, y, z));
         }
-        scanner.close();
-        
+        event.done(points.size());
+        return points;
+    }
+    
+    @Override
+    public Long solve(List<Point> points) {
+        Events.Solve event = Events.solve(PUZZLE);
         int n = points.size();
         
         // Calculate all pairwise distances
+        Events.Build build = Events.build(PUZZLE, "sorted edges");
         List<Edge> edges = new ArrayList<>();
         for (int i = 0; i < n; i++) {
             for (int j = i + 1; j < n; j++) {
@@ -98,6 +116,7 @@ public class Solution01 {
         
         // Sort edges by distance
         Collections.sort(edges);
+        build.done(edges.size());
         
         // Process the 1000 shortest edges (not 1000 successful connections)
         UnionFind uf = new UnionFind(n);
@@ -124,7 +143,8 @@ public class Solution01 {
             result *= sizes.get(i);
         }
         
-        System.out.println(result);
+        event.done(0, result);
+        return result;
     }
     
     static double distance(Point a, Point b) {
@@ -1,6 +1,14 @@
+import aoc.Events;
+import aoc.Input;
+import aoc.Solver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.*;
 
-public class Solution02 {
+public class Solution02 implements Solver<List<Solution02.Point>> {
+    private static final String PUZZLE = "Day 08/Puzzle 02";
+
     static class Point {
         int x, y, z;
         
@@ -71,25 +79,35 @@ public class Solution02 {
         }
     }
     
-    public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
+    public static void main(String[] args) throws IOException {
+        Solver.run(new Solution02(), args);
+    }
+    
+    @Override
+    public List<Point> parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
         List<Point> points = new ArrayList<>();
         
-        while (scanner.hasNextLine()) {
-            String line = scanner.nextLine().trim();
-            if (line.isEmpty()) continue;
-            
-            String[] parts = line.split(",");
-            int x = Integer.parseInt(parts[0]);
-            int y = Integer.parseInt(parts[1]);
-            int z = Integer.parseInt(parts[2]);
+        while (input.hasNext()) {
+            int x = input.nextInt();
+            input.expect(',');
+            int y = input.nextInt();
+            input.expect(',');
+            int z = input.nextInt();
             points.add(new Point(x, y, z));
         }
-        scanner.close();
-        
+        event.done(points.size());
+        return points;
+    }
+    
+    @Override
+    public Long solve(List<Point> points) {
+        Events.Solve event = Events.solve(PUZZLE);
         int n = points.size();
         
         // Calculate all pairwise distances
+        Events.Build build = Events.build(PUZZLE, "sorted edges");
         List<Edge> edges = new ArrayList<>();
         for (int i = 0; i < n; i++) {
             for (int j = i + 1; j < n; j++) {
@@ -100,6 +118,7 @@ public class Solution02 {
         
         // Sort edges by distance
         Collections.sort(edges);
+        build.done(edges.size());
         
         // Connect until all in one circuit
         UnionFind uf = new UnionFind(n);
@@ -115,12 +134,15 @@ public class Solution02 {
         }
         
         // Multiply X coordinates of last connection
-        if (lastConnection != null) {
-            int x1 = points.get(lastConnection.u).x;
-            int x2 = points.get(lastConnection.v).x;
-            long result = (long) x1 * x2;
-            System.out.println(result);
+        if (lastConnection == null) {
+            event.done(0, 0L);
+            return 0L;
         }
+        int x1 = points.get(lastConnection.u).x;
+        int x2 = points.get(lastConnection.v).x;
+        long result = (long) x1 * x2;
+        event.done(0, result);
+        return result;
     }
     
     static double distance(Point a, Point b) {
@@ -0,0 +1,177 @@
+import aoc.DualSolver;
+import aoc.Events;
+import aoc.Input;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+// Both parts from one sorted edge list and one union-find: the circuits after the 1000
+// shortest edges answer Part 1, and the same walk goes on until one circuit is left
+public class Solution implements DualSolver<List<Solution.Point>> {
+    private static final String PUZZLE = "Day 08/Both";
+
+    static class Point {
+        int x, y, z;
+
+        Point(int x, int y, int z) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+    }
+
+    static class Edge implements Comparable<Edge> {
+        int u, v;
+        double distance;
+
+        Edge(int u, int v, double distance) {
+            this.u = u;
+            this.v = v;
+            this.distance = distance;
+        }
+
+        @Override
+        public int compareTo(Edge other) {
+            return Double.compare(this.distance, other.distance);
+        }
+    }
+
+    static class UnionFind {
+        int[] parent;
+        int[] size;
+        int numComponents;
+
+        UnionFind(int n) {
+            parent = new int[n];
+            size = new int[n];
+            numComponents = n;
+            for (int i = 0; i < n; i++) {
+                parent[i] = i;
+                size[i] = 1;
+            }
+        }
+
+        int find(int x) {
+            if (parent[x] != x) {
+                parent[x] = find(parent[x]); // Path compression
+            }
+            return parent[x];
+        }
+
+        boolean union(int x, int y) {
+            int rootX = find(x);
+            int rootY = find(y);
+
+            if (rootX == rootY) return false; // Already in same circuit
+
+            // Union by size
+            if (size[rootX] < size[rootY]) {
+                parent[rootX] = rootY;
+                size[rootY] += size[rootX];
+            } else {
+                parent[rootY] = rootX;
+                size[rootX] += size[rootY];
+            }
+            numComponents--;
+            return true;
+        }
+
+        boolean isFullyConnected() {
+            return numComponents == 1;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        DualSolver.run(new Solution(), args);
+    }
+
+    @Override
+    public List<Point> parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
+        List<Point> points = new ArrayList<>();
+
+        while (input.hasNext()) {
+            int x = input.nextInt();
+            input.expect(',');
+            int y = input.nextInt();
+            input.expect(',');
+            int z = input.nextInt();
+            points.add(new Point(x, y, z));
+        }
+        event.done(points.size());
+        return points;
+    }
+
+    @Override
+    public Answers solve(List<Point> points) {
+        Events.Solve event = Events.solve(PUZZLE);
+        int n = points.size();
+
+        // Calculate all pairwise distances, and sort them once for both parts
+        Events.Build build = Events.build(PUZZLE, "sorted edges");
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                double dist = distance(points.get(i), points.get(j));
+                edges.add(new Edge(i, j, dist));
+            }
+        }
+        Collections.sort(edges);
+        build.done(edges.size());
+
+        UnionFind uf = new UnionFind(n);
+        int shortest = Math.min(1000, edges.size());
+        long largestCircuits = shortest == 0 ? largestCircuits(uf, n) : 0;
+        Edge lastConnection = null;
+
+        for (int i = 0; i < edges.size(); i++) {
+            Edge edge = edges.get(i);
+            if (uf.union(edge.u, edge.v)) {
+                lastConnection = edge;
+            }
+
+            // Part 1: the 1000 shortest edges (not 1000 successful connections)
+            if (i + 1 == shortest) {
+                largestCircuits = largestCircuits(uf, n);
+            }
+            // Part 2: connect until all in one circuit
+            if (i + 1 >= shortest && uf.isFullyConnected()) {
+                break;
+            }
+        }
+
+        // Multiply X coordinates of last connection
+        long lastProduct = lastConnection == null ? 0
+                : (long) points.get(lastConnection.u).x * points.get(lastConnection.v).x;
+
+        Answers answers = new Answers(largestCircuits, lastProduct);
+        event.done(0, answers);
+        return answers;
+    }
+
+    // Product of the three largest circuit sizes
+    private static long largestCircuits(UnionFind uf, int n) {
+        List<Integer> sizes = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            if (uf.find(i) == i) {
+                sizes.add(uf.size[i]);
+            }
+        }
+        Collections.sort(sizes, Collections.reverseOrder());
+
+        long result = 1;
+        for (int i = 0; i < Math.min(3, sizes.size()); i++) {
+            result *= sizes.get(i);
+        }
+        return result;
+    }
+
+    static double distance(Point a, Point b) {
+        long dx = a.x - b.x;
+        long dy = a.y - b.y;
+        long dz = a.z - b.z;
+        return Math.sqrt(dx * dx + dy * dy + dz * dz);
+    }
+}
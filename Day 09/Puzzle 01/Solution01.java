@@ -1,21 +1,37 @@
+import aoc.Events;
+import aoc.Input;
+import aoc.Solver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.*;
 
-public class Solution01 {
-    public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
+public class Solution01 implements Solver<List<int[]>> {
+    private static final String PUZZLE = "Day 09/Puzzle 01";
+
+    public static void main(String[] args) throws IOException {
+        Solver.run(new Solution01(), args);
+    }
+    
+    @Override
+    public List<int[]> parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
         List<int[]> redTiles = new ArrayList<>();
         
-        while (scanner.hasNextLine()) {
-            String line = scanner.nextLine().trim();
-            if (line.isEmpty()) continue;
-            
-            String[] parts = line.split(",");
-            int x = Integer.parseInt(parts[0]);
-            int y = Integer.parseInt(parts[1]);
+        while (input.hasNext()) {
+            int x = input.nextInt();
+            input.expect(',');
+            int y = input.nextInt();
             redTiles.add(new int[]{x, y});
         }
-        scanner.close();
-        
+        event.done(redTiles.size());
+        return redTiles;
+    }
+    
+    @Override
+    public Long solve(List<int[]> redTiles) {
+        Events.Solve event = Events.solve(PUZZLE);
         long maxArea = 0;
         
         // Try all pairs of red tiles as opposite corners
@@ -33,6 +49,7 @@ public class Solution01 {
             }
         }
         
-        System.out.println(maxArea);
+        event.done(0, maxArea);
+        return maxArea;
     }
 }
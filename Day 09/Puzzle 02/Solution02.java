@@ -1,27 +1,71 @@
+import aoc.Events;
+import aoc.Input;
+import aoc.Solver;
+import aoc.Stats;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.*;
 
-public class Solution02 {
-    static List<int[]> redTiles;
-    static Set<String> redTileSet;
-    static Map<String, Boolean> validCache = new HashMap<>();
+public class Solution02 implements Solver<List<int[]>> {
+    private static final String PUZZLE = "Day 09/Puzzle 02";
+
+    // State of the current solve() call; set up at its start and released at its end
+    private List<int[]> redTiles;
+    private Set<String> redTileSet;
+    private Map<String, Boolean> validCache;
+    private long nodes;
+    private long tileChecks;
+    private long cacheHits;
+    
+    public static void main(String[] args) throws IOException {
+        Solver.run(new Solution02(), args);
+    }
     
-    public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
-        redTiles = new ArrayList<>();
+    @Override
+    public List<int[]> parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
+        List<int[]> tiles = new ArrayList<>();
+        
+        while (input.hasNext()) {
+            int x = input.nextInt();
+            input.expect(',');
+            int y = input.nextInt();
+            tiles.add(new int[]{x, y});
+        }
+        event.done(tiles.size());
+        return tiles;
+    }
+    
+    @Override
+    public Long solve(List<int[]> tiles) {
+        Events.Solve event = Events.solve(PUZZLE);
+        redTiles = tiles;
+        Events.Build build = Events.build(PUZZLE, "red tile set");
         redTileSet = new HashSet<>();
-        
-        while (scanner.hasNextLine()) {
-            String line = scanner.nextLine().trim();
-            if (line.isEmpty()) continue;
-            
-            String[] parts = line.split(",");
-            int x = Integer.parseInt(parts[0]);
-            int y = Integer.parseInt(parts[1]);
-            redTiles.add(new int[]{x, y});
-            redTileSet.add(x + "," + y);
+        for (int[] tile : tiles) {
+            redTileSet.add(tile[0] + "," + tile[1]);
         }
-        scanner.close();
-        
+        build.done(redTileSet.size());
+        validCache = new HashMap<>();
+        nodes = 0;
+        tileChecks = 0;
+        cacheHits = 0;
+        
+        try {
+            long maxArea = findMaxArea();
+            event.done(nodes, maxArea);
+            report(tiles.size());
+            return maxArea;
+        } finally {
+            redTiles = null;
+            redTileSet = null;
+            validCache = null;
+        }
+    }
+    
+    private long findMaxArea() {
         long maxArea = 0;
         
         // Try all pairs of red tiles as opposite corners
@@ -49,10 +93,11 @@ public class Solution02 {
             }
         }
         
-        System.out.println(maxArea);
+        return maxArea;
     }
     
-    static boolean isRectangleValid(int x1, int y1, int x2, int y2) {
+    private boolean isRectangleValid(int x1, int y1, int x2, int y2) {
+        nodes++;
         long totalTiles = (long)(x2 - x1 + 1) * (y2 - y1 + 1);
         
         // Check all four corners first
@@ -101,9 +146,23 @@ public class Solution02 {
         return true;
     }
     
-    static boolean isValidTile(int x, int y) {
+    private void report(int redTiles) {
+        if (Stats.enabled()) {
+            Stats.report(PUZZLE)
+                    .put("redTiles", redTiles)
+                    .put("rectanglesChecked", nodes)
+                    .put("tileChecks", tileChecks)
+                    .put("cacheHits", cacheHits)
+                    .ratio("cacheHitRate", cacheHits, tileChecks)
+                    .emit();
+        }
+    }
+    
+    private boolean isValidTile(int x, int y) {
+        tileChecks++;
         String key = x + "," + y;
         if (validCache.containsKey(key)) {
+            cacheHits++;
             return validCache.get(key);
         }
         
@@ -112,7 +171,7 @@ public class Solution02 {
         return valid;
     }
     
-    static boolean isValidTileUncached(int x, int y) {
+    private boolean isValidTileUncached(int x, int y) {
         if (redTileSet.contains(x + "," + y)) {
             return true;
         }
@@ -143,7 +202,7 @@ public class Solution02 {
         return false;
     }
     
-    static boolean isInsidePolygon(int x, int y) {
+    private boolean isInsidePolygon(int x, int y) {
         int n = redTiles.size();
         boolean inside = false;
         
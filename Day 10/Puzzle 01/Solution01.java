@@ -1,21 +1,45 @@
+import aoc.Events;
+import aoc.Input;
+import aoc.Solver;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.*;
 
-public class Solution01 {
-    public static void main(String[] args) {
-        Scanner scanner = new Scanner(System.in);
-        int totalPresses = 0;
+public class Solution01 implements Solver<List<Solution01.Machine>> {
+    private static final String PUZZLE = "Day 10/Puzzle 01";
+
+    public static void main(String[] args) throws IOException {
+        Solver.run(new Solution01(), args);
+    }
+    
+    @Override
+    public List<Machine> parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
+        List<Machine> machines = new ArrayList<>();
         
-        while (scanner.hasNextLine()) {
-            String line = scanner.nextLine().trim();
-            if (line.isEmpty()) continue;
-            
-            Machine machine = parseMachine(line);
+        while (input.hasNext()) {
+            machines.add(parseMachine(input));
+        }
+        event.done(machines.size());
+        return machines;
+    }
+    
+    @Override
+    public Long solve(List<Machine> machines) {
+        Events.Solve event = Events.solve(PUZZLE);
+        long totalPresses = 0;
+        long combinations = 0;
+        
+        for (Machine machine : machines) {
             int minPresses = findMinPresses(machine);
             totalPresses += minPresses;
+            combinations += 1L << machine.buttons.size();
         }
-        scanner.close();
         
-        System.out.println(totalPresses);
+        event.done(combinations, totalPresses);
+        return totalPresses;
     }
     
     static class Machine {
@@ -28,33 +52,35 @@ public class Solution01 {
         }
     }
     
-    static Machine parseMachine(String line) {
+    static Machine parseMachine(Input line) {
         // Parse target configuration [.##.]
-        int start = line.indexOf('[');
-        int end = line.indexOf(']');
-        String targetStr = line.substring(start + 1, end);
-        boolean[] target = new boolean[targetStr.length()];
-        for (int i = 0; i < targetStr.length(); i++) {
-            target[i] = targetStr.charAt(i) == '#';
+        line.expect('[');
+        int start = line.position();
+        line.skipPast(']');
+        boolean[] target = new boolean[line.position() - 1 - start];
+        for (int i = 0; i < target.length; i++) {
+            target[i] = line.byteAt(start + i) == '#';
         }
         
         // Parse buttons (0,3,4)
         List<Set<Integer>> buttons = new ArrayList<>();
-        int pos = end + 1;
-        while (pos < line.length()) {
-            int openParen = line.indexOf('(', pos);
-            if (openParen == -1) break;
-            int closeParen = line.indexOf(')', openParen);
-            
-            String buttonStr = line.substring(openParen + 1, closeParen);
+        line.skipSpaces();
+        while (line.skip('(')) {
             Set<Integer> button = new HashSet<>();
-            for (String num : buttonStr.split(",")) {
-                button.add(Integer.parseInt(num.trim()));
+            line.skipSpaces();
+            while (!line.skip(')')) {
+                button.add(line.nextInt());
+                line.skipSpaces();
+                line.skip(',');
+                line.skipSpaces();
             }
             buttons.add(button);
-            pos = closeParen + 1;
+            line.skipSpaces();
         }
         
+        // The {joltage} requirements are not needed here
+        line.nextLine();
+        
         return new Machine(target, buttons);
     }
     
@@ -1,15 +1,20 @@
-import java.io.*;
+import aoc.Events;
+import aoc.Input;
+import aoc.Solver;
+import aoc.Stats;
+
+import java.io.IOException;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.*;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
-public class Solution02 {
+public class Solution02 implements Solver<List<Solution02.Machine>> {
+    private static final String PUZZLE = "Day 10/Puzzle 02";
 
     private static final BigInteger ZERO = BigInteger.ZERO;
 
-    private static final Pattern PARENS = Pattern.compile("\\(([^)]*)\\)");
-    private static final Pattern CURLY  = Pattern.compile("\\{([^}]*)\\}");
+    // Slots of the counters array threaded through the search (see solve())
+    private static final int DFS_NODES = 0, ASSIGNMENTS = 1, BACK_SUBSTITUTIONS = 2;
 
     static class Machine {
         List<int[]> buttons;
@@ -20,56 +25,78 @@ public class Solution02 {
         }
     }
 
-    public static void main(String[] args) throws Exception {
-        String input = readAll(System.in);
-        long total = 0;
+    public static void main(String[] args) throws IOException {
+        Solver.run(new Solution02(), args);
+    }
 
-        for (String line : input.split("\\R")) {
-            line = line.trim();
-            if (line.isEmpty()) continue;
-            Machine m = parseLine(line);
-            total += solveMachine(m.buttons, m.target);
-        }
+    @Override
+    public List<Machine> parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
+        List<Machine> machines = new ArrayList<>();
 
-        System.out.println(total);
+        while (input.hasNext()) {
+            machines.add(parseLine(input));
+        }
+        event.done(machines.size());
+        return machines;
     }
 
-    private static String readAll(InputStream in) throws IOException {
-        ByteArrayOutputStream bos = new ByteArrayOutputStream();
-        byte[] buf = new byte[1 << 16];
-        int r;
-        while ((r = in.read(buf)) != -1) bos.write(buf, 0, r);
-        return bos.toString("UTF-8");
+    @Override
+    public Long solve(List<Machine> machines) {
+        Events.Solve event = Events.solve(PUZZLE);
+        long[] counters = new long[3];
+        long total = 0;
+        for (Machine m : machines) {
+            total += solveMachine(m.buttons, m.target, counters);
+        }
+        event.done(counters[DFS_NODES], total);
+        if (Stats.enabled()) {
+            Stats.report(PUZZLE)
+                    .put("machines", machines.size())
+                    .put("dfsNodes", counters[DFS_NODES])
+                    .put("freeVarAssignments", counters[ASSIGNMENTS])
+                    .put("backSubstitutions", counters[BACK_SUBSTITUTIONS])
+                    .emit();
+        }
+        return total;
     }
 
     /** Parses one input line: ignore [lights], keep (buttons) and {targets}. */
-    private static Machine parseLine(String line) {
-        // targets
-        Matcher mc = CURLY.matcher(line);
-        if (!mc.find()) throw new IllegalArgumentException("No {..} target: " + line);
-        int[] target = parseIntList(mc.group(1));
+    private static Machine parseLine(Input line) {
+        // lights
+        if (line.skip('[')) line.skipPast(']');
 
         // buttons
         List<int[]> buttons = new ArrayList<>();
-        Matcher mp = PARENS.matcher(line);
-        while (mp.find()) {
-            String inside = mp.group(1).trim();
-            if (inside.isEmpty()) {
-                buttons.add(new int[0]);
-            } else {
-                buttons.add(parseIntList(inside));
-            }
+        line.skipSpaces();
+        while (line.skip('(')) {
+            buttons.add(parseIntList(line, ')'));
+            line.skipSpaces();
         }
-        if (buttons.isEmpty()) throw new IllegalArgumentException("No buttons: " + line);
+        if (buttons.isEmpty()) throw new IllegalArgumentException("No buttons at offset " + line.position());
 
+        // targets
+        if (!line.skip('{')) throw new IllegalArgumentException("No {..} target at offset " + line.position());
+        int[] target = parseIntList(line, '}');
+
+        line.nextLine();
         return new Machine(buttons, target);
     }
 
-    private static int[] parseIntList(String csv) {
-        String[] parts = csv.split(",");
-        int[] out = new int[parts.length];
-        for (int i = 0; i < parts.length; i++) out[i] = Integer.parseInt(parts[i].trim());
-        return out;
+    /** Reads comma-separated ints up to and including the closing delimiter. */
+    private static int[] parseIntList(Input in, char close) {
+        int[] out = new int[8];
+        int n = 0;
+        in.skipSpaces();
+        while (!in.skip(close)) {
+            if (n == out.length) out = Arrays.copyOf(out, n * 2);
+            out[n++] = in.nextInt();
+            in.skipSpaces();
+            in.skip(',');
+            in.skipSpaces();
+        }
+        return Arrays.copyOf(out, n);
     }
 
     /**
@@ -79,7 +106,7 @@ public class Solution02 {
      * - Enumerate free variables with safe upper bounds, back-substitute pivots
      * - Return minimal sum of presses
      */
-    private static long solveMachine(List<int[]> buttons, int[] target) {
+    private static long solveMachine(List<int[]> buttons, int[] target, long[] counters) {
         final int n = target.length;          // counters / equations
         final int m = buttons.size();         // variables / buttons
 
@@ -115,7 +142,9 @@ public class Solution02 {
         }
 
         // Eliminate
+        Events.Build build = Events.build(PUZZLE, "eliminateInteger");
         ElimResult er = eliminateInteger(mat, n, m);
+        build.done((long) n * (m + 1));
         int rank = er.rank;
         int[] pivotCols = er.pivotCols;
 
@@ -146,7 +175,7 @@ public class Solution02 {
         BigInteger[] x = new BigInteger[m];
         long[] best = { Long.MAX_VALUE };
 
-        dfsFreeVars(0, freeCols, ub, x, 0L, mat, rank, pivotCols, best);
+        dfsFreeVars(0, freeCols, ub, x, 0L, mat, rank, pivotCols, best, counters);
 
         return best[0];
     }
@@ -214,11 +243,14 @@ public class Solution02 {
             BigInteger[][] mat,
             int rank,
             int[] pivotCols,
-            long[] best
+            long[] best,
+            long[] counters
     ) {
+        counters[DFS_NODES]++;
         if (sumSoFar >= best[0]) return;
 
         if (idx == freeCols.length) {
+            counters[BACK_SUBSTITUTIONS]++;
             // back-substitute to fill pivot variables, check integrality/nonnegativity
             BigInteger[] sol = Arrays.copyOf(x, x.length);
             for (int j = 0; j < sol.length; j++) if (sol[j] == null) sol[j] = ZERO;
@@ -270,7 +302,8 @@ public class Solution02 {
             long newSum = sumSoFar + v;
             if (newSum >= best[0]) break; // v only increases, so we can stop
             x[col] = BigInteger.valueOf(v);
-            dfsFreeVars(idx + 1, freeCols, ub, x, newSum, mat, rank, pivotCols, best);
+            counters[ASSIGNMENTS]++;
+            dfsFreeVars(idx + 1, freeCols, ub, x, newSum, mat, rank, pivotCols, best, counters);
         }
         x[col] = null;
     }
@@ -0,0 +1,356 @@
+import aoc.DualSolver;
+import aoc.Events;
+import aoc.Input;
+import aoc.Stats;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+// Both parts from one parse of each machine: Part 1 toggles the lights, Part 2 solves
+// the joltage counters with the same buttons
+public class Solution implements DualSolver<List<Solution.Machine>> {
+    private static final String PUZZLE = "Day 10/Both";
+
+    private static final BigInteger ZERO = BigInteger.ZERO;
+
+    // Slots of the counters array threaded through the search (see solve())
+    private static final int DFS_NODES = 0, ASSIGNMENTS = 1, BACK_SUBSTITUTIONS = 2;
+
+    static class Machine {
+        boolean[] lights;
+        List<int[]> buttons;
+        int[] target;
+        Machine(boolean[] lights, List<int[]> buttons, int[] target) {
+            this.lights = lights;
+            this.buttons = buttons;
+            this.target = target;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        DualSolver.run(new Solution(), args);
+    }
+
+    @Override
+    public List<Machine> parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
+        List<Machine> machines = new ArrayList<>();
+
+        while (input.hasNext()) {
+            machines.add(parseLine(input));
+        }
+        event.done(machines.size());
+        return machines;
+    }
+
+    @Override
+    public Answers solve(List<Machine> machines) {
+        Events.Solve event = Events.solve(PUZZLE);
+        long[] counters = new long[3];
+        long combinations = 0;
+        long lightPresses = 0;
+        long joltagePresses = 0;
+        for (Machine m : machines) {
+            lightPresses += findMinPresses(m.lights, m.buttons);
+            combinations += 1L << m.buttons.size();
+            joltagePresses += solveMachine(m.buttons, m.target, counters);
+        }
+        Answers answers = new Answers(lightPresses, joltagePresses);
+        event.done(combinations + counters[DFS_NODES], answers);
+        if (Stats.enabled()) {
+            Stats.report(PUZZLE)
+                    .put("machines", machines.size())
+                    .put("lightCombinations", combinations)
+                    .put("dfsNodes", counters[DFS_NODES])
+                    .put("freeVarAssignments", counters[ASSIGNMENTS])
+                    .put("backSubstitutions", counters[BACK_SUBSTITUTIONS])
+                    .emit();
+        }
+        return answers;
+    }
+
+    /** Parses one input line: [lights], (buttons) and {targets}. */
+    private static Machine parseLine(Input line) {
+        // lights [.##.]
+        line.expect('[');
+        int start = line.position();
+        line.skipPast(']');
+        boolean[] lights = new boolean[line.position() - 1 - start];
+        for (int i = 0; i < lights.length; i++) {
+            lights[i] = line.byteAt(start + i) == '#';
+        }
+
+        // buttons
+        List<int[]> buttons = new ArrayList<>();
+        line.skipSpaces();
+        while (line.skip('(')) {
+            buttons.add(parseIntList(line, ')'));
+            line.skipSpaces();
+        }
+        if (buttons.isEmpty()) throw new IllegalArgumentException("No buttons at offset " + line.position());
+
+        // targets
+        if (!line.skip('{')) throw new IllegalArgumentException("No {..} target at offset " + line.position());
+        int[] target = parseIntList(line, '}');
+
+        line.nextLine();
+        return new Machine(lights, buttons, target);
+    }
+
+    /** Reads comma-separated ints up to and including the closing delimiter. */
+    private static int[] parseIntList(Input in, char close) {
+        int[] out = new int[8];
+        int n = 0;
+        in.skipSpaces();
+        while (!in.skip(close)) {
+            if (n == out.length) out = Arrays.copyOf(out, n * 2);
+            out[n++] = in.nextInt();
+            in.skipSpaces();
+            in.skip(',');
+            in.skipSpaces();
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    /** Part 1: the fewest presses that leave exactly the target lights on, trying every subset of buttons. */
+    static int findMinPresses(boolean[] lights, List<int[]> buttons) {
+        int numLights = lights.length;
+        int numButtons = buttons.size();
+        int minPresses = Integer.MAX_VALUE;
+
+        for (int mask = 0; mask < (1 << numButtons); mask++) {
+            boolean[] state = new boolean[numLights];
+            int presses = 0;
+
+            // Apply each button if its bit is set in mask
+            for (int i = 0; i < numButtons; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    presses++;
+                    for (int light : buttons.get(i)) {
+                        if (light < numLights) {
+                            state[light] = !state[light];
+                        }
+                    }
+                }
+            }
+
+            if (Arrays.equals(state, lights)) {
+                minPresses = Math.min(minPresses, presses);
+            }
+        }
+
+        return minPresses;
+    }
+
+    /**
+     * Part 2, one machine:
+     * - Build augmented matrix A|b with A in {0,1}
+     * - Integer Gaussian elimination (fraction-free)
+     * - Enumerate free variables with safe upper bounds, back-substitute pivots
+     * - Return minimal sum of presses
+     */
+    private static long solveMachine(List<int[]> buttons, int[] target, long[] counters) {
+        final int n = target.length;          // counters / equations
+        final int m = buttons.size();         // variables / buttons
+
+        boolean[][] affects = new boolean[n][m];
+        for (int j = 0; j < m; j++) {
+            for (int idx : buttons.get(j)) {
+                if (idx < 0 || idx >= n) {
+                    throw new IllegalArgumentException("Button index out of range: " + idx + " for n=" + n);
+                }
+                affects[idx][j] = true;
+            }
+        }
+
+        // Upper bound for each x_j: x_j <= min target[i] over counters it affects (since all contributions are +1).
+        int[] ub = new int[m];
+        for (int j = 0; j < m; j++) {
+            int min = Integer.MAX_VALUE;
+            boolean any = false;
+            for (int i = 0; i < n; i++) {
+                if (affects[i][j]) {
+                    any = true;
+                    min = Math.min(min, target[i]);
+                }
+            }
+            ub[j] = any ? min : 0; // a button that affects nothing is useless
+        }
+
+        // Build augmented matrix (n rows) x (m cols + rhs)
+        BigInteger[][] mat = new BigInteger[n][m + 1];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < m; j++) mat[i][j] = affects[i][j] ? BigInteger.ONE : ZERO;
+            mat[i][m] = BigInteger.valueOf(target[i]);
+        }
+
+        // Eliminate
+        Events.Build build = Events.build(PUZZLE, "eliminateInteger");
+        ElimResult er = eliminateInteger(mat, n, m);
+        build.done((long) n * (m + 1));
+        int rank = er.rank;
+        int[] pivotCols = er.pivotCols;
+
+        // Check for inconsistency: 0 = nonzero
+        for (int i = rank; i < n; i++) {
+            boolean allZero = true;
+            for (int j = 0; j < m; j++) {
+                if (!mat[i][j].equals(ZERO)) { allZero = false; break; }
+            }
+            if (allZero && !mat[i][m].equals(ZERO)) {
+                throw new IllegalStateException("No solution for a machine (should not happen with AoC input).");
+            }
+        }
+
+        boolean[] isPivot = new boolean[m];
+        for (int c : pivotCols) isPivot[c] = true;
+
+        List<Integer> freeColsList = new ArrayList<>();
+        for (int j = 0; j < m; j++) if (!isPivot[j]) freeColsList.add(j);
+
+        // Sort free variables by small upper bound to shrink search early.
+        freeColsList.sort(Comparator.comparingInt(j -> ub[j]));
+
+        int freeCount = freeColsList.size();
+        int[] freeCols = new int[freeCount];
+        for (int i = 0; i < freeCount; i++) freeCols[i] = freeColsList.get(i);
+
+        BigInteger[] x = new BigInteger[m];
+        long[] best = { Long.MAX_VALUE };
+
+        dfsFreeVars(0, freeCols, ub, x, 0L, mat, rank, pivotCols, best, counters);
+
+        return best[0];
+    }
+
+    static class ElimResult {
+        int rank;
+        int[] pivotCols;
+        ElimResult(int rank, int[] pivotCols) { this.rank = rank; this.pivotCols = pivotCols; }
+    }
+
+    /**
+     * Fraction-free / integer Gaussian elimination.
+     * Row ops: Rr = Rr*(pivot/g) - Rp*(entry/g) to zero out the current column.
+     * This preserves integer solutions and avoids rationals. :contentReference[oaicite:1]{index=1}
+     */
+    private static ElimResult eliminateInteger(BigInteger[][] a, int nRows, int nVars) {
+        int rank = 0;
+        List<Integer> pivots = new ArrayList<>();
+
+        for (int col = 0; col < nVars && rank < nRows; col++) {
+            int sel = -1;
+            for (int r = rank; r < nRows; r++) {
+                if (!a[r][col].equals(ZERO)) { sel = r; break; }
+            }
+            if (sel == -1) continue;
+
+            // swap into pivot row
+            if (sel != rank) {
+                BigInteger[] tmp = a[sel];
+                a[sel] = a[rank];
+                a[rank] = tmp;
+            }
+
+            pivots.add(col);
+            BigInteger pivot = a[rank][col];
+
+            // eliminate below
+            for (int r = rank + 1; r < nRows; r++) {
+                BigInteger entry = a[r][col];
+                if (entry.equals(ZERO)) continue;
+
+                BigInteger g = pivot.abs().gcd(entry.abs());
+                BigInteger mulRow = pivot.divide(g);   // pivot/g
+                BigInteger mulPiv = entry.divide(g);   // entry/g
+
+                // Rr = Rr*mulRow - Rp*mulPiv  (from col to rhs)
+                for (int j = col; j <= nVars; j++) {
+                    a[r][j] = a[r][j].multiply(mulRow).subtract(a[rank][j].multiply(mulPiv));
+                }
+            }
+
+            rank++;
+        }
+
+        int[] pivotCols = pivots.stream().mapToInt(i -> i).toArray();
+        return new ElimResult(rank, pivotCols);
+    }
+
+    private static void dfsFreeVars(
+            int idx,
+            int[] freeCols,
+            int[] ub,
+            BigInteger[] x,
+            long sumSoFar,
+            BigInteger[][] mat,
+            int rank,
+            int[] pivotCols,
+            long[] best,
+            long[] counters
+    ) {
+        counters[DFS_NODES]++;
+        if (sumSoFar >= best[0]) return;
+
+        if (idx == freeCols.length) {
+            counters[BACK_SUBSTITUTIONS]++;
+            // back-substitute to fill pivot variables, check integrality/nonnegativity
+            BigInteger[] sol = Arrays.copyOf(x, x.length);
+            for (int j = 0; j < sol.length; j++) if (sol[j] == null) sol[j] = ZERO;
+
+            for (int r = rank - 1; r >= 0; r--) {
+                int col = pivotCols[r];
+                BigInteger rhs = mat[r][sol.length]; // last column is RHS
+
+                for (int j = col + 1; j < sol.length; j++) {
+                    BigInteger coeff = mat[r][j];
+                    if (!coeff.equals(ZERO)) {
+                        rhs = rhs.subtract(coeff.multiply(sol[j]));
+                    }
+                }
+
+                BigInteger coeffPivot = mat[r][col];
+                if (coeffPivot.equals(ZERO)) {
+                    if (!rhs.equals(ZERO)) return; // inconsistent
+                    sol[col] = ZERO;
+                } else {
+                    BigInteger[] divRem = rhs.divideAndRemainder(coeffPivot);
+                    if (!divRem[1].equals(ZERO)) return;      // not integer
+                    if (divRem[0].signum() < 0) return;       // negative presses
+                    sol[col] = divRem[0];
+                }
+            }
+
+            // compute total presses and update best
+            long total = 0L;
+            for (BigInteger v : sol) {
+                // AoC targets are small enough for long; fail-fast if not.
+                long lv;
+                try {
+                    lv = v.longValueExact();
+                } catch (ArithmeticException ex) {
+                    return;
+                }
+                total += lv;
+                if (total >= best[0]) return;
+            }
+            best[0] = total;
+            return;
+        }
+
+        int col = freeCols[idx];
+        int upper = ub[col];
+
+        for (int v = 0; v <= upper; v++) {
+            long newSum = sumSoFar + v;
+            if (newSum >= best[0]) break; // v only increases, so we can stop
+            x[col] = BigInteger.valueOf(v);
+            counters[ASSIGNMENTS]++;
+            dfsFreeVars(idx + 1, freeCols, ub, x, newSum, mat, rank, pivotCols, best, counters);
+        }
+        x[col] = null;
+    }
+}
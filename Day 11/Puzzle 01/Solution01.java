@@ -1,40 +1,57 @@
-import java.io.*;
+import aoc.Events;
+import aoc.Input;
+import aoc.Solver;
+
+import java.io.IOException;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.*;
 
-public class Solution01 {
+public class Solution01 implements Solver<Map<String, List<String>>> {
+    private static final String PUZZLE = "Day 11/Puzzle 01";
+
     static final BigInteger ONE = BigInteger.ONE;
     static final BigInteger ZERO = BigInteger.ZERO;
 
-    public static void main(String[] args) throws Exception {
-        BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
-        Map<String, List<String>> graph = new HashMap<>();
+    public static void main(String[] args) throws IOException {
+        Solver.run(new Solution01(), args);
+    }
 
-        String line;
-        while ((line = br.readLine()) != null) {
-            line = line.trim();
-            if (line.isEmpty()) continue;
+    @Override
+    public Map<String, List<String>> parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
+        Map<String, List<String>> graph = new HashMap<>();
 
+        while (input.hasNext()) {
             // Format: "name: a b c" (outputs separated by spaces) :contentReference[oaicite:2]{index=2}
-            String[] parts = line.split(":", 2);
-            String from = parts[0].trim();
+            String from = input.nextWord();
+            input.skipSpaces();
+            input.expect(':');
 
             List<String> outs = new ArrayList<>();
-            if (parts.length == 2) {
-                String rhs = parts[1].trim();
-                if (!rhs.isEmpty()) {
-                    for (String to : rhs.split("\\s+")) outs.add(to);
-                }
+            input.skipSpaces();
+            while (!input.atLineEnd()) {
+                outs.add(input.nextWord());
+                input.skipSpaces();
             }
             graph.put(from, outs);
         }
+        event.done(graph.size());
+        return graph;
+    }
 
+    @Override
+    public BigInteger solve(Map<String, List<String>> graph) {
+        Events.Solve event = Events.solve(PUZZLE);
+        
         // Memoized DFS from "you" to "out" :contentReference[oaicite:3]{index=3}
         Map<String, BigInteger> memo = new HashMap<>();
         Map<String, Integer> state = new HashMap<>(); // 0/absent=unvisited, 1=visiting, 2=done
 
         BigInteger ans = dfs("you", graph, memo, state);
-        System.out.println(ans);
+        event.done(memo.size(), ans);
+        return ans;
     }
 
     private static BigInteger dfs(
@@ -1,8 +1,15 @@
-import java.io.*;
+import aoc.Events;
+import aoc.Input;
+import aoc.Solver;
+
+import java.io.IOException;
 import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.*;
 
-public class Solution02 {
+public class Solution02 implements Solver<Map<String, List<String>>> {
+    private static final String PUZZLE = "Day 11/Puzzle 02";
+
     private static final BigInteger ONE = BigInteger.ONE;
     private static final BigInteger ZERO = BigInteger.ZERO;
 
@@ -13,35 +20,45 @@ public class Solution02 {
         return mask;
     }
 
-    public static void main(String[] args) throws Exception {
-        BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
-        Map<String, List<String>> g = new HashMap<>();
+    public static void main(String[] args) throws IOException {
+        Solver.run(new Solution02(), args);
+    }
 
-        String line;
-        while ((line = br.readLine()) != null) {
-            line = line.trim();
-            if (line.isEmpty()) continue;
+    @Override
+    public Map<String, List<String>> parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
+        Map<String, List<String>> g = new HashMap<>();
 
+        while (input.hasNext()) {
             // Format: "name: a b c" (directed outputs) :contentReference[oaicite:2]{index=2}
-            String[] parts = line.split(":", 2);
-            String from = parts[0].trim();
-            List<String> outs = new ArrayList<>();
+            String from = input.nextWord();
+            input.skipSpaces();
+            input.expect(':');
 
-            if (parts.length == 2) {
-                String rhs = parts[1].trim();
-                if (!rhs.isEmpty()) {
-                    for (String to : rhs.split("\\s+")) outs.add(to);
-                }
+            List<String> outs = new ArrayList<>();
+            input.skipSpaces();
+            while (!input.atLineEnd()) {
+                outs.add(input.nextWord());
+                input.skipSpaces();
             }
             g.put(from, outs);
         }
+        event.done(g.size());
+        return g;
+    }
 
+    @Override
+    public BigInteger solve(Map<String, List<String>> g) {
+        Events.Solve event = Events.solve(PUZZLE);
+        
         // memo[node][mask] for mask in 0..3
         Map<String, BigInteger[]> memo = new HashMap<>();
         Map<String, byte[]> state = new HashMap<>(); // 0=unvisited,1=visiting,2=done per mask
 
         BigInteger ans = dfs("svr", 0, g, memo, state);
-        System.out.println(ans);
+        event.done(memo.size(), ans);
+        return ans;
     }
 
     private static BigInteger dfs(
@@ -0,0 +1,128 @@
+import aoc.DualSolver;
+import aoc.Events;
+import aoc.Input;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+// Both parts on one adjacency structure, with the device names numbered once at parse
+// time: Part 1 counts the paths from "you" to "out", Part 2 those from "svr" to "out"
+// that pass both "dac" and "fft"
+public class Solution implements DualSolver<Solution.Graph> {
+    private static final String PUZZLE = "Day 11/Both";
+
+    private static final BigInteger ONE = BigInteger.ONE;
+    private static final BigInteger ZERO = BigInteger.ZERO;
+
+    // Devices numbered 0..n-1; outs[d] lists the devices d feeds
+    static final class Graph {
+        final Map<String, Integer> ids;
+        final int[][] outs;
+
+        Graph(Map<String, Integer> ids, int[][] outs) {
+            this.ids = ids;
+            this.outs = outs;
+        }
+
+        int id(String name) {
+            return ids.getOrDefault(name, -1);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        DualSolver.run(new Solution(), args);
+    }
+
+    @Override
+    public Graph parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
+        Map<String, Integer> ids = new HashMap<>();
+        List<int[]> outs = new ArrayList<>();
+
+        while (input.hasNext()) {
+            // Format: "name: a b c" (directed outputs)
+            int from = intern(input.nextWord(), ids, outs);
+            input.skipSpaces();
+            input.expect(':');
+
+            int[] targets = new int[4];
+            int count = 0;
+            input.skipSpaces();
+            while (!input.atLineEnd()) {
+                if (count == targets.length) targets = Arrays.copyOf(targets, count * 2);
+                targets[count++] = intern(input.nextWord(), ids, outs);
+                input.skipSpaces();
+            }
+            outs.set(from, Arrays.copyOf(targets, count));
+        }
+        event.done(ids.size());
+        return new Graph(ids, outs.toArray(new int[0][]));
+    }
+
+    private static int intern(String name, Map<String, Integer> ids, List<int[]> outs) {
+        Integer id = ids.get(name);
+        if (id == null) {
+            id = ids.size();
+            ids.put(name, id);
+            outs.add(new int[0]);
+        }
+        return id;
+    }
+
+    @Override
+    public Answers solve(Graph graph) {
+        Events.Solve event = Events.solve(PUZZLE);
+        int n = graph.outs.length;
+        int you = graph.id("you");
+        int svr = graph.id("svr");
+        int out = graph.id("out");
+        int dac = graph.id("dac");
+        int fft = graph.id("fft");
+
+        // memo[node * 4 + mask], where mask bit 1 = visited dac, bit 2 = visited fft
+        BigInteger[] memo = new BigInteger[n * 4];
+        byte[] state = new byte[n * 4]; // 0=unvisited, 1=visiting, 2=done
+        long[] nodes = { 0 };
+
+        // Part 1 ignores the mask: start with both bits set so every path counts
+        BigInteger paths = you < 0 ? ZERO : dfs(graph.outs, you, 3, out, dac, fft, memo, state, nodes);
+        BigInteger pathsThroughBoth = svr < 0 ? ZERO : dfs(graph.outs, svr, 0, out, dac, fft, memo, state, nodes);
+
+        Answers answers = new Answers(paths, pathsThroughBoth);
+        event.done(nodes[0], answers);
+        return answers;
+    }
+
+    // Paths from node to out that have visited both dac and fft, given what mask has seen so far
+    private static BigInteger dfs(int[][] outs, int node, int mask, int out, int dac, int fft,
+                                  BigInteger[] memo, byte[] state, long[] nodes) {
+        if (node == dac) mask |= 1;
+        if (node == fft) mask |= 2;
+
+        if (node == out) {
+            return (mask == 3) ? ONE : ZERO;
+        }
+
+        int slot = node * 4 + mask;
+        if (memo[slot] != null) return memo[slot];
+
+        if (state[slot] == 1) {
+            // A cycle reachable from the start that can still reach out would imply infinitely many paths
+            throw new IllegalStateException("Cycle detected at node=" + node + " mask=" + mask);
+        }
+        state[slot] = 1;
+        nodes[0]++;
+
+        BigInteger sum = ZERO;
+        for (int next : outs[node]) {
+            sum = sum.add(dfs(outs, next, mask, out, dac, fft, memo, state, nodes));
+        }
+
+        state[slot] = 2;
+        memo[slot] = sum;
+        return sum;
+    }
+}
@@ -1,4 +1,10 @@
-import java.io.*;
+import aoc.Events;
+import aoc.Input;
+import aoc.Solver;
+import aoc.Stats;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.*;
 
 /**
@@ -14,7 +20,11 @@ import java.util.*;
  *      * memoization keyed by (idx, hash) using an incremental XOR hash
  *      * symmetry reduction for identical pieces (enforce nondecreasing placement indices)
  */
-public class Solution01 {
+public class Solution01 implements Solver<Solution01.Puzzle> {
+    private static final String PUZZLE = "Day 12/Puzzle 01";
+
+    // Slots of the counters array threaded through the search (see solve())
+    private static final int DFS_NODES = 0, FITS_CALLS = 1, MEMO_HITS = 2;
 
     // ---------- Data structures ----------
 
@@ -67,52 +77,60 @@ public class Solution01 {
         }
     }
 
+    static final class Puzzle {
+        final Shape[] shapes;
+        final List<RegionQuery> queries;
+        Puzzle(Shape[] shapes, List<RegionQuery> queries) {
+            this.shapes = shapes;
+            this.queries = queries;
+        }
+    }
+
     // ---------- Parsing ----------
 
-    public static void main(String[] args) throws Exception {
-        List<String> lines = readAllLines();
+    public static void main(String[] args) throws IOException {
+        Solver.run(new Solution01(), args);
+    }
+
+    @Override
+    public Puzzle parse(ByteBuffer buffer) {
+        Events.Parse event = Events.parse(PUZZLE, buffer);
+        Input input = new Input(buffer);
 
         // Parse shapes until the first "WxH:" line.
         Map<Integer, List<String>> shapeGrids = new HashMap<>();
         List<RegionQuery> queries = new ArrayList<>();
 
-        int i = 0;
-        while (i < lines.size()) {
-            String line = lines.get(i).trim();
-            if (line.isEmpty()) { i++; continue; }
-            if (isRegionLine(line)) break;
-
-            if (line.matches("\\d+:")) {
-                int idx = Integer.parseInt(line.substring(0, line.length() - 1));
-                i++;
-                List<String> grid = new ArrayList<>();
-                while (i < lines.size()) {
-                    String r = lines.get(i).trim();
-                    if (r.isEmpty()) break;
-                    if (isRegionLine(r) || r.matches("\\d+:")) break;
-                    grid.add(r);
-                    i++;
-                }
-                shapeGrids.put(idx, grid);
-            } else {
-                i++; // skip anything unexpected
+        while (input.hasNext()) {
+            int lineStart = input.position();
+            if (!input.atDigit()) { input.nextLine(); continue; } // skip anything unexpected
+
+            int idx = input.nextInt();
+            if (input.peek() == 'x') { input.position(lineStart); break; } // first region line
+            input.skipSpaces();
+            if (!input.skip(':')) { input.nextLine(); continue; }
+            input.nextLine();
+
+            List<String> grid = new ArrayList<>();
+            while (input.hasRemaining()) {
+                input.skipSpaces();
+                if (input.atLineEnd() || input.atDigit()) break; // blank line, next shape or region
+                grid.add(input.readLine().trim());
             }
+            shapeGrids.put(idx, grid);
         }
 
         // Parse region queries.
-        while (i < lines.size()) {
-            String line = lines.get(i).trim();
-            i++;
-            if (line.isEmpty()) continue;
-            if (!isRegionLine(line)) continue;
+        while (input.hasNext()) {
+            if (!input.atDigit()) { input.nextLine(); continue; }
 
-            String[] parts = line.split(":");
-            String[] wh = parts[0].trim().split("x");
-            int W = Integer.parseInt(wh[0]);
-            int H = Integer.parseInt(wh[1]);
+            int W = input.nextInt();
+            if (!input.skip('x')) { input.nextLine(); continue; }
+            int H = input.nextInt();
+            input.skipSpaces();
+            if (!input.skip(':')) { input.nextLine(); continue; }
 
-            String rhs = parts.length > 1 ? parts[1].trim() : "";
-            int[] counts = rhs.isEmpty() ? new int[0] : parseIntList(rhs);
+            int[] counts = parseIntList(input);
 
             queries.add(new RegionQuery(W, H, counts));
         }
@@ -126,29 +144,43 @@ public class Solution01 {
             shapes[idx] = buildShape(idx, grid);
         }
 
-        int ok = 0;
-        for (RegionQuery q : queries) {
-            if (canFitRegion(q, shapes)) ok++;
-        }
-        System.out.println(ok);
+        event.done(queries.size());
+        return new Puzzle(shapes, queries);
     }
 
-    private static List<String> readAllLines() throws IOException {
-        BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
-        List<String> out = new ArrayList<>();
-        for (String s; (s = br.readLine()) != null; ) out.add(s);
-        return out;
-    }
+    // ---------- Solving ----------
 
-    private static boolean isRegionLine(String s) {
-        return s.matches("\\d+x\\d+\\s*:.*") || s.matches("\\d+x\\d+\\s*:");
+    @Override
+    public Long solve(Puzzle puzzle) {
+        Events.Solve event = Events.solve(PUZZLE);
+        long[] counters = new long[3];
+        long ok = 0;
+        for (RegionQuery q : puzzle.queries) {
+            if (canFitRegion(q, puzzle.shapes, counters)) ok++;
+        }
+        event.done(counters[DFS_NODES], ok);
+        if (Stats.enabled()) {
+            Stats.report(PUZZLE)
+                    .put("regions", puzzle.queries.size())
+                    .put("dfsNodes", counters[DFS_NODES])
+                    .put("fitsCalls", counters[FITS_CALLS])
+                    .put("memoHits", counters[MEMO_HITS])
+                    .emit();
+        }
+        return ok;
     }
 
-    private static int[] parseIntList(String s) {
-        String[] parts = s.trim().split("\\s+");
-        int[] a = new int[parts.length];
-        for (int i = 0; i < parts.length; i++) a[i] = Integer.parseInt(parts[i]);
-        return a;
+    /** Reads space-separated ints up to the end of the line. */
+    private static int[] parseIntList(Input in) {
+        int[] a = new int[8];
+        int n = 0;
+        in.skipSpaces();
+        while (!in.atLineEnd()) {
+            if (n == a.length) a = Arrays.copyOf(a, n * 2);
+            a[n++] = in.nextInt();
+            in.skipSpaces();
+        }
+        return Arrays.copyOf(a, n);
     }
 
     // ---------- Shape orientation generation ----------
@@ -220,7 +252,7 @@ public class Solution01 {
 
     // ---------- Region solving ----------
 
-    private static boolean canFitRegion(RegionQuery q, Shape[] shapes) {
+    private static boolean canFitRegion(RegionQuery q, Shape[] shapes, long[] counters) {
         int W = q.W, H = q.H;
         int totalCells = W * H;
         int blocks = (totalCells + 63) >>> 6;
@@ -235,6 +267,7 @@ public class Solution01 {
         int[] counts = q.counts;
         if (counts.length < shapeCount) counts = Arrays.copyOf(counts, shapeCount);
 
+        Events.Build build = Events.build(PUZZLE, "genPlacements");
         Map<Integer, PieceType> typeByShape = new HashMap<>();
         List<PieceType> pieces = new ArrayList<>();
         int requiredArea = 0;
@@ -252,6 +285,10 @@ public class Solution01 {
             requiredArea += c * s.area;
         }
 
+        long placements = 0;
+        for (PieceType type : typeByShape.values()) placements += type.placements.size();
+        build.done(placements);
+
         if (requiredArea > totalCells) return false; // basic area check
 
         // Sort pieces: most constrained first.
@@ -274,7 +311,7 @@ public class Solution01 {
         long[] occ = new long[blocks];
         int[] chosenPlacementIndex = new int[n]; // for identical-piece symmetry reduction
 
-        return dfs(0, 0L, 0, pieces, occ, suffixArea, totalCells, failed, chosenPlacementIndex);
+        return dfs(0, 0L, 0, pieces, occ, suffixArea, totalCells, failed, chosenPlacementIndex, counters);
     }
 
     private static List<Placement> genPlacements(Shape s, int W, int H, int blocks, long[] cellRand) {
@@ -331,12 +368,17 @@ public class Solution01 {
             int[] suffixArea,
             int totalCells,
             HashSet<Long>[] failed,
-            int[] chosenPlacementIndex
+            int[] chosenPlacementIndex,
+            long[] counters
     ) {
+        counters[DFS_NODES]++;
         if (idx == pieces.size()) return true;
 
         // If we've already proven this (idx, hash) fails, skip.
-        if (failed[idx].contains(hash)) return false;
+        if (failed[idx].contains(hash)) {
+            counters[MEMO_HITS]++;
+            return false;
+        }
 
         // Area pruning: remaining pieces must fit in remaining free cells.
         int remainingFree = totalCells - usedCells;
@@ -357,13 +399,14 @@ public class Solution01 {
         List<Placement> pls = cur.placements;
         for (int p = start; p < pls.size(); p++) {
             Placement pl = pls.get(p);
+            counters[FITS_CALLS]++;
             if (!fits(occ, pl.bits)) continue;
 
             // place
             applyXor(occ, pl.bits);
             chosenPlacementIndex[idx] = p;
 
-            if (dfs(idx + 1, hash ^ pl.hash, usedCells + pl.area, pieces, occ, suffixArea, totalCells, failed, chosenPlacementIndex)) {
+            if (dfs(idx + 1, hash ^ pl.hash, usedCells + pl.area, pieces, occ, suffixArea, totalCells, failed, chosenPlacementIndex, counters)) {
                 return true;
             }
 